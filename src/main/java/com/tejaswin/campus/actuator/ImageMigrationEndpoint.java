@@ -0,0 +1,26 @@
+package com.tejaswin.campus.actuator;
+
+import com.tejaswin.campus.service.ImageMigrationService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the legacy image migration checkpoint at
+ * {@code /actuator/imagemigration}.
+ */
+@Component
+@Endpoint(id = "imagemigration")
+public class ImageMigrationEndpoint {
+
+    private final ImageMigrationService imageMigrationService;
+
+    public ImageMigrationEndpoint(ImageMigrationService imageMigrationService) {
+        this.imageMigrationService = imageMigrationService;
+    }
+
+    @ReadOperation
+    public ImageMigrationService.Progress progress() {
+        return imageMigrationService.getProgress();
+    }
+}
@@ -0,0 +1,42 @@
+package com.tejaswin.campus.actuator;
+
+import com.tejaswin.campus.service.RegistrationAnalytics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the in-memory registration figures at
+ * {@code /actuator/registrations}: totals per category and per day for the
+ * last {@value #DAYS} days. Served without a database query.
+ */
+@Component
+@Endpoint(id = "registrations")
+public class RegistrationAnalyticsEndpoint {
+
+    private static final int DAYS = 30;
+
+    private final RegistrationAnalytics analytics;
+
+    public RegistrationAnalyticsEndpoint(RegistrationAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    public record Summary(boolean loaded, Map<String, Long> byCategory, Map<LocalDate, Long> byDay) {
+    }
+
+    @ReadOperation
+    public Summary summary() {
+        LocalDate today = LocalDate.now();
+        long[] daily = analytics.daily(today, DAYS);
+        Map<LocalDate, Long> byDay = new LinkedHashMap<>();
+        for (int i = 0; i < daily.length; i++) {
+            byDay.put(today.minusDays(daily.length - 1 - i), daily[i]);
+        }
+        return new Summary(analytics.isLoaded(), analytics.categoryTotals(), byDay);
+    }
+}
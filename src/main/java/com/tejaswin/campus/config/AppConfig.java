@@ -3,6 +3,9 @@ package com.tejaswin.campus.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "app")
 public class AppConfig {
@@ -11,6 +14,22 @@ public class AppConfig {
     private int bcryptStrength = 12;
     private int sessionTimeout = 1800; // 30 minutes in seconds
     private RateLimit rateLimit = new RateLimit();
+    private ImageVariants imageVariants = new ImageVariants();
+    private ImageCache imageCache = new ImageCache();
+    private ImageUpload imageUpload = new ImageUpload();
+    private ImageMigration imageMigration = new ImageMigration();
+    private ImageSweep imageSweep = new ImageSweep();
+    private Pagination pagination = new Pagination();
+    private Search search = new Search();
+    private StatusScheduler statusScheduler = new StatusScheduler();
+    private Stats stats = new Stats();
+    private RegistrationCounts registrationCounts = new RegistrationCounts();
+    private EventCache eventCache = new EventCache();
+    private SecondLevelCache secondLevelCache = new SecondLevelCache();
+    private InterestWrites interestWrites = new InterestWrites();
+    private InterestMembership interestMembership = new InterestMembership();
+    private Seats seats = new Seats();
+    private WaitingRoom waitingRoom = new WaitingRoom();
 
     public String getUploadDir() {
         return uploadDir;
@@ -48,10 +67,141 @@ public class AppConfig {
         this.rateLimit = rateLimit;
     }
 
+    public ImageVariants getImageVariants() {
+        return imageVariants;
+    }
+
+    public void setImageVariants(ImageVariants imageVariants) {
+        this.imageVariants = imageVariants;
+    }
+
+    public ImageCache getImageCache() {
+        return imageCache;
+    }
+
+    public void setImageCache(ImageCache imageCache) {
+        this.imageCache = imageCache;
+    }
+
+    public ImageUpload getImageUpload() {
+        return imageUpload;
+    }
+
+    public void setImageUpload(ImageUpload imageUpload) {
+        this.imageUpload = imageUpload;
+    }
+
+    public ImageMigration getImageMigration() {
+        return imageMigration;
+    }
+
+    public void setImageMigration(ImageMigration imageMigration) {
+        this.imageMigration = imageMigration;
+    }
+
+    public ImageSweep getImageSweep() {
+        return imageSweep;
+    }
+
+    public void setImageSweep(ImageSweep imageSweep) {
+        this.imageSweep = imageSweep;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public void setPagination(Pagination pagination) {
+        this.pagination = pagination;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public void setSearch(Search search) {
+        this.search = search;
+    }
+
+    public StatusScheduler getStatusScheduler() {
+        return statusScheduler;
+    }
+
+    public void setStatusScheduler(StatusScheduler statusScheduler) {
+        this.statusScheduler = statusScheduler;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public void setStats(Stats stats) {
+        this.stats = stats;
+    }
+
+    public RegistrationCounts getRegistrationCounts() {
+        return registrationCounts;
+    }
+
+    public void setRegistrationCounts(RegistrationCounts registrationCounts) {
+        this.registrationCounts = registrationCounts;
+    }
+
+    public EventCache getEventCache() {
+        return eventCache;
+    }
+
+    public void setEventCache(EventCache eventCache) {
+        this.eventCache = eventCache;
+    }
+
+    public SecondLevelCache getSecondLevelCache() {
+        return secondLevelCache;
+    }
+
+    public void setSecondLevelCache(SecondLevelCache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    public InterestWrites getInterestWrites() {
+        return interestWrites;
+    }
+
+    public void setInterestWrites(InterestWrites interestWrites) {
+        this.interestWrites = interestWrites;
+    }
+
+    public InterestMembership getInterestMembership() {
+        return interestMembership;
+    }
+
+    public void setInterestMembership(InterestMembership interestMembership) {
+        this.interestMembership = interestMembership;
+    }
+
+    public Seats getSeats() {
+        return seats;
+    }
+
+    public void setSeats(Seats seats) {
+        this.seats = seats;
+    }
+
+    public WaitingRoom getWaitingRoom() {
+        return waitingRoom;
+    }
+
+    public void setWaitingRoom(WaitingRoom waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
     public static class RateLimit {
         private int capacity = 5;
         private int tokens = 5;
         private int minutes = 15;
+        private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.0/8", "10.0.0.0/8", "::1"));
+        private long maxKeys = 100_000;
+        private List<Policy> policies = new ArrayList<>();
 
         public int getCapacity() {
             return capacity;
@@ -76,5 +226,603 @@ public class AppConfig {
         public void setMinutes(int minutes) {
             this.minutes = minutes;
         }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public long getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(long maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        public List<Policy> getPolicies() {
+            return policies;
+        }
+
+        public void setPolicies(List<Policy> policies) {
+            this.policies = policies;
+        }
+
+        /** Whose requests share a bucket. */
+        public enum Key {
+            /** The client address. */
+            IP,
+            /** The HTTP session, or the client address without one. */
+            SESSION,
+            /** The logged-in user, or the client address when logged out. */
+            USER
+        }
+
+        public static class Policy {
+            private String name;
+            private List<String> paths = new ArrayList<>();
+            private List<String> methods = new ArrayList<>();
+            private Key key = Key.IP;
+            private int capacity = 60;
+            private int refillTokens = 60;
+            private long refillSeconds = 60;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public List<String> getPaths() {
+                return paths;
+            }
+
+            public void setPaths(List<String> paths) {
+                this.paths = paths;
+            }
+
+            public List<String> getMethods() {
+                return methods;
+            }
+
+            public void setMethods(List<String> methods) {
+                this.methods = methods;
+            }
+
+            public Key getKey() {
+                return key;
+            }
+
+            public void setKey(Key key) {
+                this.key = key;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public int getRefillTokens() {
+                return refillTokens;
+            }
+
+            public void setRefillTokens(int refillTokens) {
+                this.refillTokens = refillTokens;
+            }
+
+            public long getRefillSeconds() {
+                return refillSeconds;
+            }
+
+            public void setRefillSeconds(long refillSeconds) {
+                this.refillSeconds = refillSeconds;
+            }
+        }
+    }
+
+    public static class ImageVariants {
+        private int threads = 2;
+        private int queueCapacity = 32;
+        private long maxSourcePixels = 40_000_000L;
+        private float jpegQuality = 0.82f;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getMaxSourcePixels() {
+            return maxSourcePixels;
+        }
+
+        public void setMaxSourcePixels(long maxSourcePixels) {
+            this.maxSourcePixels = maxSourcePixels;
+        }
+
+        public float getJpegQuality() {
+            return jpegQuality;
+        }
+
+        public void setJpegQuality(float jpegQuality) {
+            this.jpegQuality = jpegQuality;
+        }
+    }
+
+    public static class ImageCache {
+        private boolean enabled = true;
+        private long maxBytes = 64L * 1024 * 1024;
+        private int maxEntryBytes = 2 * 1024 * 1024;
+        private boolean offHeap = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getMaxEntryBytes() {
+            return maxEntryBytes;
+        }
+
+        public void setMaxEntryBytes(int maxEntryBytes) {
+            this.maxEntryBytes = maxEntryBytes;
+        }
+
+        public boolean isOffHeap() {
+            return offHeap;
+        }
+
+        public void setOffHeap(boolean offHeap) {
+            this.offHeap = offHeap;
+        }
+    }
+
+    public static class ImageUpload {
+        private long maxBytes = 5L * 1024 * 1024;
+        private int maxConcurrent = 4;
+        private int acquireTimeoutSeconds = 10;
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getAcquireTimeoutSeconds() {
+            return acquireTimeoutSeconds;
+        }
+
+        public void setAcquireTimeoutSeconds(int acquireTimeoutSeconds) {
+            this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+        }
+    }
+
+    public static class ImageMigration {
+        private int batchSize = 20;
+        private int rowsPerSecond = 5;
+        private boolean autoResume = true;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getRowsPerSecond() {
+            return rowsPerSecond;
+        }
+
+        public void setRowsPerSecond(int rowsPerSecond) {
+            this.rowsPerSecond = rowsPerSecond;
+        }
+
+        public boolean isAutoResume() {
+            return autoResume;
+        }
+
+        public void setAutoResume(boolean autoResume) {
+            this.autoResume = autoResume;
+        }
+    }
+
+    public static class ImageSweep {
+        private long intervalMinutes = 60;
+        private long graceMinutes = 60;
+
+        public long getIntervalMinutes() {
+            return intervalMinutes;
+        }
+
+        public void setIntervalMinutes(long intervalMinutes) {
+            this.intervalMinutes = intervalMinutes;
+        }
+
+        public long getGraceMinutes() {
+            return graceMinutes;
+        }
+
+        public void setGraceMinutes(long graceMinutes) {
+            this.graceMinutes = graceMinutes;
+        }
+    }
+
+    public static class Pagination {
+        private int maxPageSize = 50;
+        private int totalsTtlSeconds = 60;
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getTotalsTtlSeconds() {
+            return totalsTtlSeconds;
+        }
+
+        public void setTotalsTtlSeconds(int totalsTtlSeconds) {
+            this.totalsTtlSeconds = totalsTtlSeconds;
+        }
+    }
+
+    public static class Search {
+        private double minSimilarity = 0.6;
+        private int maxResults = 500;
+
+        public double getMinSimilarity() {
+            return minSimilarity;
+        }
+
+        public void setMinSimilarity(double minSimilarity) {
+            this.minSimilarity = minSimilarity;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+
+    public static class StatusScheduler {
+        private long tickMillis = 1000;
+        private int wheelSize = 512;
+        private int horizonMinutes = 60;
+
+        public long getTickMillis() {
+            return tickMillis;
+        }
+
+        public void setTickMillis(long tickMillis) {
+            this.tickMillis = tickMillis;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public int getHorizonMinutes() {
+            return horizonMinutes;
+        }
+
+        public void setHorizonMinutes(int horizonMinutes) {
+            this.horizonMinutes = horizonMinutes;
+        }
+    }
+
+    public static class Stats {
+        private long maxStalenessSeconds = 10;
+
+        public long getMaxStalenessSeconds() {
+            return maxStalenessSeconds;
+        }
+
+        public void setMaxStalenessSeconds(long maxStalenessSeconds) {
+            this.maxStalenessSeconds = maxStalenessSeconds;
+        }
+    }
+
+    public static class RegistrationCounts {
+        private long reconcileMinutes = 60;
+        private int batchSize = 1000;
+
+        public long getReconcileMinutes() {
+            return reconcileMinutes;
+        }
+
+        public void setReconcileMinutes(long reconcileMinutes) {
+            this.reconcileMinutes = reconcileMinutes;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class EventCache {
+        private long maxSize = 10000;
+        private long ttlSeconds = 300;
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+
+    public static class SecondLevelCache {
+        private long eventsMaxSize = 5000;
+        private long usersMaxSize = 5000;
+        private long queryMaxSize = 1000;
+        private long ttlSeconds = 600;
+
+        public long getEventsMaxSize() {
+            return eventsMaxSize;
+        }
+
+        public void setEventsMaxSize(long eventsMaxSize) {
+            this.eventsMaxSize = eventsMaxSize;
+        }
+
+        public long getUsersMaxSize() {
+            return usersMaxSize;
+        }
+
+        public void setUsersMaxSize(long usersMaxSize) {
+            this.usersMaxSize = usersMaxSize;
+        }
+
+        public long getQueryMaxSize() {
+            return queryMaxSize;
+        }
+
+        public void setQueryMaxSize(long queryMaxSize) {
+            this.queryMaxSize = queryMaxSize;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+
+    public static class InterestWrites {
+
+        /** What happens to a click when the write-behind queue is full. */
+        public enum Durability {
+            /** Written synchronously, as with write-behind off. */
+            WRITE_THROUGH,
+            /** Dropped and counted; the redirect never waits for the database. */
+            DROP
+        }
+
+        private boolean writeBehind = false;
+        private int queueCapacity = 10000;
+        private int batchSize = 500;
+        private long flushIntervalMillis = 250;
+        private Durability durability = Durability.WRITE_THROUGH;
+        private long shutdownTimeoutSeconds = 10;
+
+        public boolean isWriteBehind() {
+            return writeBehind;
+        }
+
+        public void setWriteBehind(boolean writeBehind) {
+            this.writeBehind = writeBehind;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public Durability getDurability() {
+            return durability;
+        }
+
+        public void setDurability(Durability durability) {
+            this.durability = durability;
+        }
+
+        public long getShutdownTimeoutSeconds() {
+            return shutdownTimeoutSeconds;
+        }
+
+        public void setShutdownTimeoutSeconds(long shutdownTimeoutSeconds) {
+            this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        }
+    }
+
+    public static class InterestMembership {
+        private long maxBytes = 16 * 1024 * 1024;
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    public static class Seats {
+        private long refreshSeconds = 30;
+        private long maxEvents = 10000;
+
+        public long getRefreshSeconds() {
+            return refreshSeconds;
+        }
+
+        public void setRefreshSeconds(long refreshSeconds) {
+            this.refreshSeconds = refreshSeconds;
+        }
+
+        public long getMaxEvents() {
+            return maxEvents;
+        }
+
+        public void setMaxEvents(long maxEvents) {
+            this.maxEvents = maxEvents;
+        }
+    }
+
+    public static class WaitingRoom {
+        private int admitPerSecond = 20;
+        private int burst = 20;
+        private int maxWaiting = 16384;
+        private long abandonAfterSeconds = 30;
+        private long pollIntervalMillis = 2000;
+        private long ticketTtlSeconds = 900;
+        private long maxEvents = 1000;
+        private String secret = "";
+
+        public int getAdmitPerSecond() {
+            return admitPerSecond;
+        }
+
+        public void setAdmitPerSecond(int admitPerSecond) {
+            this.admitPerSecond = admitPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getMaxWaiting() {
+            return maxWaiting;
+        }
+
+        public void setMaxWaiting(int maxWaiting) {
+            this.maxWaiting = maxWaiting;
+        }
+
+        public long getAbandonAfterSeconds() {
+            return abandonAfterSeconds;
+        }
+
+        public void setAbandonAfterSeconds(long abandonAfterSeconds) {
+            this.abandonAfterSeconds = abandonAfterSeconds;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public long getTicketTtlSeconds() {
+            return ticketTtlSeconds;
+        }
+
+        public void setTicketTtlSeconds(long ticketTtlSeconds) {
+            this.ticketTtlSeconds = ticketTtlSeconds;
+        }
+
+        public long getMaxEvents() {
+            return maxEvents;
+        }
+
+        public void setMaxEvents(long maxEvents) {
+            this.maxEvents = maxEvents;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
     }
 }
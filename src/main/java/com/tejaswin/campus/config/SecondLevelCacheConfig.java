@@ -0,0 +1,99 @@
+package com.tejaswin.campus.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache, held in Caffeine through JCache.
+ * Every region is created here with its own bound, and Hibernate is told to
+ * fail on any other, so a misspelt region name cannot silently fall back to an
+ * unbounded cache. Entry counts are published as {@code cache.size} tagged
+ * with the region name, next to the application's own caches; hits and misses
+ * per region come from the {@code hibernate.second.level.cache.requests} and
+ * {@code hibernate.cache.query.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String EVENTS = "events";
+    public static final String USERS = "users";
+    public static final String EVENT_AGGREGATES = "event-aggregates";
+
+    private final AppConfig.SecondLevelCache config;
+
+    public SecondLevelCacheConfig(AppConfig appConfig) {
+        this.config = appConfig.getSecondLevelCache();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A provider of our own rather than the JVM-wide one, so each application context gets its own regions
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(),
+                SecondLevelCacheConfig.class.getClassLoader());
+        regions().forEach(cacheManager::createCache);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheSizes(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : regions().keySet()) {
+                Gauge.builder("cache.size", () -> estimatedSize(hibernateCacheManager.getCache(region)))
+                        .tag("cache", region)
+                        .description("The number of entries in this second-level cache region")
+                        .register(registry);
+            }
+        };
+    }
+
+    private Map<String, CaffeineConfiguration<Object, Object>> regions() {
+        Duration ttl = Duration.ofSeconds(config.getTtlSeconds());
+        Map<String, CaffeineConfiguration<Object, Object>> regions = new LinkedHashMap<>();
+        regions.put(EVENTS, bounded(config.getEventsMaxSize(), ttl));
+        regions.put(USERS, bounded(config.getUsersMaxSize(), ttl));
+        regions.put(EVENT_AGGREGATES, bounded(config.getQueryMaxSize(), ttl));
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(config.getQueryMaxSize(), ttl));
+        // Invalidation timestamps per table; must never be evicted before the query results they guard
+        regions.put(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return regions;
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    private static long estimatedSize(Cache<?, ?> cache) {
+        if (cache == null || cache.isClosed()) {
+            return 0;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
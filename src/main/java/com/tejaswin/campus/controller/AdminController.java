@@ -1,8 +1,13 @@
 package com.tejaswin.campus.controller;
 
+import com.tejaswin.campus.model.CursorPage;
+import com.tejaswin.campus.model.DashboardStats;
 import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.EventCardView;
 import com.tejaswin.campus.model.User;
+import com.tejaswin.campus.service.DashboardStatsService;
 import com.tejaswin.campus.service.EventService;
+import com.tejaswin.campus.service.ImageMigrationService;
 import com.tejaswin.campus.service.SessionService;
 import com.tejaswin.campus.exception.EventNotFoundException;
 import com.tejaswin.campus.exception.InvalidImageException;
@@ -37,10 +42,15 @@ public class AdminController {
 
     private final EventService eventService;
     private final SessionService sessionService;
+    private final ImageMigrationService imageMigrationService;
+    private final DashboardStatsService dashboardStats;
 
-    public AdminController(EventService eventService, SessionService sessionService) {
+    public AdminController(EventService eventService, SessionService sessionService,
+            ImageMigrationService imageMigrationService, DashboardStatsService dashboardStats) {
         this.eventService = eventService;
         this.sessionService = sessionService;
+        this.imageMigrationService = imageMigrationService;
+        this.dashboardStats = dashboardStats;
     }
 
     @GetMapping("/dashboard")
@@ -48,39 +58,33 @@ public class AdminController {
     public String adminDashboard(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String status,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "15") int size,
             Model model) {
 
-        long totalEvents = eventService.getTotalEventsCount();
-        long totalRegistrations = eventService.getTotalRegistrationsCount();
-        long upcomingEvents = eventService.getUpcomingEventsCount();
-        long ongoingEvents = eventService.getOngoingEventsCount();
-        long pastEvents = eventService.getPastEventsCount();
+        DashboardStats stats = dashboardStats.get();
 
-        org.springframework.data.domain.Page<Event> eventsPage;
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
+        CursorPage<EventCardView> eventsPage;
 
         if (search != null && !search.isBlank()) {
-            eventsPage = eventService.searchEventsPage(search.trim(), pageable);
+            eventsPage = eventService.searchEventsPage(search.trim(), cursor, size);
             model.addAttribute("searchQuery", search.trim());
         } else if (status != null && !status.isBlank() && !"all".equalsIgnoreCase(status)) {
-            eventsPage = eventService.findEventsByStatusPage(status.trim(), pageable);
+            eventsPage = eventService.findEventsByStatusPage(status.trim(), cursor, size);
             model.addAttribute("activeStatus", status.trim());
         } else {
-            eventsPage = eventService.findAllEventsPage(pageable);
+            eventsPage = eventService.findAllEventsPage(cursor, size);
         }
 
         java.util.Map<Long, Long> eventRegistrationCounts = eventService
                 .getRegistrationCountsMap(eventsPage.getContent());
-        java.util.Map<String, Long> categoryCountsMap = eventService.getCategoryCounts();
-
-        model.addAttribute("totalEvents", totalEvents);
-        model.addAttribute("totalRegistrations", totalRegistrations);
-        model.addAttribute("upcomingEvents", upcomingEvents);
-        model.addAttribute("ongoingEvents", ongoingEvents);
-        model.addAttribute("pastEvents", pastEvents);
-        model.addAttribute("categoryCounts", categoryCountsMap);
+
+        model.addAttribute("totalEvents", stats.getTotalEvents());
+        model.addAttribute("totalRegistrations", stats.getTotalRegistrations());
+        model.addAttribute("upcomingEvents", stats.getUpcomingEvents());
+        model.addAttribute("ongoingEvents", stats.getOngoingEvents());
+        model.addAttribute("pastEvents", stats.getPastEvents());
+        model.addAttribute("categoryCounts", stats.getCategoryCounts());
         model.addAttribute("eventRegistrationCounts", eventRegistrationCounts);
 
         // System Health
@@ -93,9 +97,10 @@ public class AdminController {
         model.addAttribute("sysCores", runtime.availableProcessors());
 
         model.addAttribute("events", eventsPage.getContent());
-        model.addAttribute("currentPage", eventsPage.getNumber());
-        model.addAttribute("totalPages", eventsPage.getTotalPages());
-        model.addAttribute("totalItems", eventsPage.getTotalElements());
+        model.addAttribute("totalItems", eventsPage.getTotal() != null ? eventsPage.getTotal()
+                : eventService.countListing(null, status));
+        model.addAttribute("nextCursor", eventsPage.getNextCursor());
+        model.addAttribute("previousCursor", eventsPage.getPreviousCursor());
         model.addAttribute("user", sessionService.getLoggedInUser());
         model.addAttribute("newEvent", new Event());
         model.addAttribute("now", LocalDateTime.now());
@@ -111,6 +116,7 @@ public class AdminController {
             @RequestParam String category,
             @RequestParam(required = false) String registrationLink,
             @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam(defaultValue = "false") boolean waitingRoom,
             @RequestParam(required = false) MultipartFile imageFile,
             @RequestParam(required = false) String responsesLink,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDateTime,
@@ -141,6 +147,7 @@ public class AdminController {
             event.setCategory(category);
             event.setRegistrationLink(registrationLink);
             event.setMaxCapacity(maxCapacity);
+            event.setWaitingRoom(waitingRoom);
             event.setResponsesLink(responsesLink);
             event.setEndDateTime(endDateTime);
 
@@ -182,6 +189,7 @@ public class AdminController {
             @RequestParam String category,
             @RequestParam(required = false) String registrationLink,
             @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam(defaultValue = "false") boolean waitingRoom,
             @RequestParam(required = false) MultipartFile imageFile,
             @RequestParam(required = false) String responsesLink,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDateTime,
@@ -216,6 +224,7 @@ public class AdminController {
             event.setCategory(category);
             event.setRegistrationLink(registrationLink);
             event.setMaxCapacity(maxCapacity);
+            event.setWaitingRoom(waitingRoom);
             event.setResponsesLink(responsesLink);
             event.setEndDateTime(endDateTime);
 
@@ -265,6 +274,19 @@ public class AdminController {
                 .body(csvData);
     }
 
+    @PostMapping("/image-migration")
+    public String startImageMigration(RedirectAttributes redirectAttributes) {
+        if (imageMigrationService.start()) {
+            User admin = sessionService.getLoggedInUser();
+            logger.info("AUDIT: Image migration started by {}", admin != null ? admin.getUsername() : "unknown");
+            redirectAttributes.addFlashAttribute("success",
+                    "Image migration started. Progress is available at /actuator/imagemigration.");
+        } else {
+            redirectAttributes.addFlashAttribute("error", "Image migration is already running.");
+        }
+        return "redirect:/admin/dashboard";
+    }
+
     private boolean isValidUrl(String url) {
         if (url == null || url.isBlank())
             return true;
@@ -0,0 +1,49 @@
+package com.tejaswin.campus.controller;
+
+import com.tejaswin.campus.service.EventAutocomplete;
+import com.tejaswin.campus.service.EventAutocomplete.Suggestion;
+import com.tejaswin.campus.service.SessionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON suggestions for the dashboard search box. Answered entirely from
+ * {@link EventAutocomplete}; no database access per keystroke.
+ */
+@RestController
+@RequestMapping("/student/api")
+public class AutocompleteController {
+
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MAX_LIMIT = 20;
+
+    private final EventAutocomplete autocomplete;
+    private final SessionService sessionService;
+
+    public AutocompleteController(EventAutocomplete autocomplete, SessionService sessionService) {
+        this.autocomplete = autocomplete;
+        this.sessionService = sessionService;
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        if (sessionService.getLoggedInUser() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        String prefix = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        List<Suggestion> suggestions = autocomplete.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePrivate())
+                .body(suggestions);
+    }
+}
@@ -1,10 +1,15 @@
 package com.tejaswin.campus.controller;
 
-import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.CursorPage;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.model.EventImageMetadata;
+import com.tejaswin.campus.model.EventSnapshot;
 import com.tejaswin.campus.model.User;
 import com.tejaswin.campus.service.EventService;
 import com.tejaswin.campus.service.SessionService;
+import com.tejaswin.campus.service.WaitingRoom;
 import com.tejaswin.campus.security.SecurityAuditLogger;
+import com.tejaswin.campus.storage.ImageVariant;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +20,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.CacheControl;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Controller
 @RequestMapping("/student")
@@ -28,14 +40,25 @@ public class EventController {
 
     private static final Logger logger = LoggerFactory.getLogger(EventController.class);
 
+    // Tomcat sendfile request attributes (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventService eventService;
     private final SessionService sessionService;
     private final SecurityAuditLogger auditLogger;
+    private final WaitingRoom waitingRoom;
 
-    public EventController(EventService eventService, SessionService sessionService, SecurityAuditLogger auditLogger) {
+    public EventController(EventService eventService, SessionService sessionService, SecurityAuditLogger auditLogger,
+            WaitingRoom waitingRoom) {
         this.eventService = eventService;
         this.sessionService = sessionService;
         this.auditLogger = auditLogger;
+        this.waitingRoom = waitingRoom;
     }
 
     @GetMapping("/dashboard")
@@ -43,7 +66,7 @@ public class EventController {
     public String studentDashboard(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String category,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size,
             Model model) {
 
@@ -52,40 +75,66 @@ public class EventController {
             return "redirect:/";
         }
 
-        org.springframework.data.domain.Page<Event> eventsPage;
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
+        CursorPage<EventCardView> eventsPage = listEvents(search, category, cursor, size, model);
+
+        model.addAttribute("events", eventsPage.getContent());
+        model.addAttribute("nextCursor", eventsPage.getNextCursor());
+        model.addAttribute("previousCursor", eventsPage.getPreviousCursor());
+        model.addAttribute("user", user);
+        model.addAttribute("now", java.time.LocalDateTime.now());
+        return "dashboard";
+    }
+
+    /**
+     * Next batch of cards for infinite scroll. Renders only the card fragment;
+     * the cursor of the batch after it is sent in the X-Next-Cursor header.
+     */
+    @GetMapping("/dashboard/more")
+    @Transactional(readOnly = true)
+    public String moreDashboardEvents(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String category,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Model model,
+            HttpServletResponse response) {
+
+        if (sessionService.getLoggedInUser() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+
+        CursorPage<EventCardView> eventsPage = listEvents(search, category, cursor, size, model);
+        if (eventsPage.hasNext()) {
+            response.setHeader(NEXT_CURSOR_HEADER, eventsPage.getNextCursor());
+        }
+        model.addAttribute("events", eventsPage.getContent());
+        model.addAttribute("now", java.time.LocalDateTime.now());
+        return "dashboard :: eventCards";
+    }
 
+    private CursorPage<EventCardView> listEvents(String search, String category, String cursor, int size,
+            Model model) {
+        CursorPage<EventCardView> eventsPage;
         if (search != null && !search.trim().isEmpty()) {
             String sanitizedSearch = search.trim();
             if (sanitizedSearch.length() > 200) {
                 sanitizedSearch = sanitizedSearch.substring(0, 200);
             }
-            eventsPage = eventService.searchEventsPage(sanitizedSearch, pageable);
+            eventsPage = eventService.searchEventsPage(sanitizedSearch, cursor, size);
             model.addAttribute("searchQuery", sanitizedSearch);
         } else if (category != null && !category.trim().isEmpty() && !"all".equalsIgnoreCase(category)) {
-            eventsPage = eventService.findEventsByCategoryPage(category, pageable);
+            eventsPage = eventService.findEventsByCategoryPage(category, cursor, size);
             model.addAttribute("activeCategory", category);
         } else {
-            eventsPage = eventService.findAllEventsPage(pageable);
+            eventsPage = eventService.findAllEventsPage(cursor, size);
         }
-
-        if (eventsPage == null) {
-            eventsPage = org.springframework.data.domain.Page.empty();
-        }
-
-        model.addAttribute("events", eventsPage.getContent());
-        model.addAttribute("currentPage", eventsPage.getNumber());
-        model.addAttribute("totalPages", eventsPage.getTotalPages());
-        model.addAttribute("totalItems", eventsPage.getTotalElements());
-        model.addAttribute("user", user);
-        model.addAttribute("now", java.time.LocalDateTime.now());
-        return "dashboard";
+        return eventsPage != null ? eventsPage : CursorPage.empty();
     }
 
     @GetMapping("/register-external/{eventId}")
     @CircuitBreaker(name = "registrationService", fallbackMethod = "registrationFallback")
-    @Transactional
-    public String registerExternal(@PathVariable(name = "eventId") Long eventId) {
+    public String registerExternal(@PathVariable(name = "eventId") Long eventId,
+            @RequestParam(required = false) String ticket) {
         User user = sessionService.getLoggedInUser();
         if (user == null) {
             return "redirect:/";
@@ -99,14 +148,21 @@ public class EventController {
             logger.warn("User {} has null ID, skipping registration", user.getUsername());
             return "redirect:/student/event/" + eventId;
         }
+
+        EventSnapshot event = eventService.findEventSnapshot(eventId);
+        if (event != null && event.isWaitingRoom()) {
+            String wait = waitingRoomRedirect(eventId, user.getId(), ticket);
+            if (wait != null) {
+                return wait;
+            }
+        }
         // Track interest for analytics
         auditLogger.logSecurityLinkClick(user.getUsername(), "REGISTER_EXTERNAL", eventId);
         Long studentId = user.getId();
-        if (studentId != null) {
-            eventService.registerStudent(eventId, studentId);
+        if (studentId != null && !eventService.recordInterest(eventId, studentId)) {
+            return "redirect:/student/event/" + eventId + "?error=full";
         }
 
-        Event event = eventService.findEventById(eventId);
         if (event != null && event.getRegistrationLink() != null && !event.getRegistrationLink().isEmpty()) {
 
             String link = event.getRegistrationLink().trim();
@@ -120,15 +176,60 @@ public class EventController {
         return "redirect:/student/event/" + eventId;
     }
 
-    public String registrationFallback(Long eventId, Exception e) {
+    /**
+     * @return where to send a user who has to wait for their turn first, or
+     *         null if their ticket, or the empty line, lets them through now
+     */
+    private String waitingRoomRedirect(Long eventId, Long userId, String ticket) {
+        WaitingRoom.Admission admission = waitingRoom.admission(eventId, userId, ticket);
+        if (admission == WaitingRoom.Admission.ADMITTED) {
+            return null;
+        }
+        if (admission == WaitingRoom.Admission.WAITING) {
+            return "redirect:/student/waiting-room/" + eventId + "?ticket=" + ticket;
+        }
+        WaitingRoom.Ticket joined = waitingRoom.join(eventId, userId);
+        if (joined == null) {
+            return "redirect:/student/event/" + eventId + "?error=busy";
+        }
+        return joined.admitted() ? null : "redirect:/student/waiting-room/" + eventId + "?ticket=" + joined.ticket();
+    }
+
+    public String registrationFallback(Long eventId, String ticket, Exception e) {
         logger.error("Circuit breaker triggered for registration of event {}: {}", eventId, e.getMessage());
         return "redirect:/student/event/" + eventId + "?error=service_unavailable";
     }
 
+    @GetMapping("/waiting-room/{eventId}")
+    public String waitingRoom(@PathVariable Long eventId, @RequestParam String ticket, Model model) {
+        if (sessionService.getLoggedInUser() == null) {
+            return "redirect:/";
+        }
+        EventSnapshot event = eventService.findEventSnapshot(eventId);
+        if (event == null) {
+            return "redirect:/student/dashboard";
+        }
+        model.addAttribute("event", event);
+        model.addAttribute("ticket", ticket);
+        return "waiting_room";
+    }
+
+    /**
+     * Polled by the waiting room page. Answered from memory without a session
+     * or database lookup; the signed ticket is all it needs.
+     */
+    @GetMapping("/api/waiting-room/{eventId}")
+    public ResponseEntity<WaitingRoom.Status> waitingRoomStatus(@PathVariable long eventId,
+            @RequestParam String ticket) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(waitingRoom.status(eventId, ticket));
+    }
+
     @GetMapping("/event/{id}")
     public String eventDetail(@PathVariable Long id, Model model,
             HttpServletRequest request) {
-        Event event = eventService.findEventById(id);
+        EventSnapshot event = eventService.findEventSnapshot(id);
         if (event == null) {
             return "redirect:/student/dashboard";
         }
@@ -144,14 +245,16 @@ public class EventController {
 
     @GetMapping("/api/public/events/image/{id}")
     @Transactional(readOnly = true)
-    public ResponseEntity<byte[]> getEventImage(@PathVariable Long id) {
-        Event event = eventService.findEventById(id);
-        if (event == null || event.getImageData() == null) {
+    public ResponseEntity<?> getEventImage(@PathVariable Long id,
+            @RequestParam(required = false) String variant,
+            HttpServletRequest request) throws IOException {
+        EventImageMetadata image = eventService.findEventImageMetadata(id);
+        if (image == null) {
             return ResponseEntity.notFound().build();
         }
 
         MediaType mediaType = MediaType.IMAGE_JPEG; // Default
-        String storedMimeType = event.getImageMimeType();
+        String storedMimeType = image.getMimeType();
         if (storedMimeType != null) {
             try {
                 mediaType = MediaType.parseMediaType(storedMimeType);
@@ -160,17 +263,56 @@ public class EventController {
             }
         }
 
-        byte[] imageData = event.getImageData();
-        if (imageData == null) {
+        // Variants are generated in the background; serve the original until they exist
+        ImageVariant imageVariant = ImageVariant.fromParam(variant);
+        boolean fallback = imageVariant != null && !eventService.hasImageVariant(image, imageVariant);
+        if (fallback) {
+            imageVariant = null;
+        }
+        String etag = image.getContentDigest();
+        if (imageVariant != null) {
+            mediaType = MediaType.IMAGE_JPEG;
+            etag = etag + "-" + imageVariant.key();
+        }
+
+        // A stand-in for a variant is revalidated, so the variant replaces it once generated
+        CacheControl cacheControl = fallback
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        // The digest was recorded at upload time, so revalidation never reads the image
+        if (etag != null && new ServletWebRequest(request).checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(etag)
+                    .build();
+        }
+
+        // Hot images come from the in-memory cache, everything else from the store
+        Resource resource = eventService.loadImageContent(image, imageVariant);
+        if (resource == null) {
+            logger.warn("Image content {} missing for event {}", image.getContentDigest(), id);
             return ResponseEntity.notFound().build();
         }
 
-        String etag = Integer.toHexString(java.util.Arrays.hashCode(imageData));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .contentType(mediaType);
+        if (etag != null) {
+            response.eTag(etag);
+        }
 
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
-                .eTag(etag)
-                .contentType(mediaType)
-                .body(imageData);
+        // Let Tomcat write the file with sendfile(2) so the bytes never enter the
+        // heap. Range requests fall through to the Resource body, which Spring
+        // serves as ResourceRegions.
+        if (resource.isFile() && "GET".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            long length = resource.contentLength();
+            request.setAttribute(SENDFILE_FILENAME_ATTR, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START_ATTR, 0L);
+            request.setAttribute(SENDFILE_END_ATTR, length);
+            return response.contentLength(length).build();
+        }
+        return response.body(resource);
     }
 }
@@ -0,0 +1,19 @@
+package com.tejaswin.campus.exception;
+
+/**
+ * Raised when an upload is refused by the image upload pipeline. The reason is
+ * recorded in the audit log; the message is shown to the admin.
+ */
+public class ImageUploadRejectedException extends InvalidImageException {
+
+    private final String reason;
+
+    public ImageUploadRejectedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
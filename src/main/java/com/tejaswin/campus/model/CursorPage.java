@@ -0,0 +1,59 @@
+package com.tejaswin.campus.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The cursors are opaque tokens to be
+ * passed back as the {@code cursor} request parameter; either is null when
+ * there is nothing further in that direction. The total is only known when
+ * the query producing the page counted it anyway.
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final String previousCursor;
+    private final Long total;
+
+    public CursorPage(List<T> content, String nextCursor, String previousCursor) {
+        this(content, nextCursor, previousCursor, null);
+    }
+
+    public CursorPage(List<T> content, String nextCursor, String previousCursor, Long total) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+        this.total = total;
+    }
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null, null);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    /**
+     * @return rows in the whole listing, or null if not counted
+     */
+    public Long getTotal() {
+        return total;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
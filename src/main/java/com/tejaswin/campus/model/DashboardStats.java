@@ -0,0 +1,82 @@
+package com.tejaswin.campus.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Headline figures of the admin dashboard at one point in time. Immutable;
+ * {@link #plus} derives the snapshot after a single write.
+ */
+public class DashboardStats {
+
+    private final long totalRegistrations;
+    private final Map<EventStatus, Long> statusCounts;
+    private final Map<String, Long> categoryCounts;
+    private final Instant computedAt;
+
+    public DashboardStats(long totalRegistrations, Map<EventStatus, Long> statusCounts,
+            Map<String, Long> categoryCounts, Instant computedAt) {
+        this.totalRegistrations = totalRegistrations;
+        this.statusCounts = new EnumMap<>(EventStatus.class);
+        this.statusCounts.putAll(statusCounts);
+        this.categoryCounts = Collections.unmodifiableMap(new LinkedHashMap<>(categoryCounts));
+        this.computedAt = computedAt;
+    }
+
+    /**
+     * @param category       category of the event written, or null for a
+     *                       registration-only change
+     * @param status         status of the event written, or null
+     * @param events         +1 for a created event, -1 for a deleted one
+     * @param registrations  change in the number of registrations
+     * @return the snapshot with the change applied; {@link #getComputedAt()}
+     *         is kept, since the rest of the figures are as old as before
+     */
+    public DashboardStats plus(String category, EventStatus status, long events, long registrations) {
+        Map<EventStatus, Long> statuses = new EnumMap<>(statusCounts);
+        Map<String, Long> categories = new LinkedHashMap<>(categoryCounts);
+        if (status != null) {
+            statuses.merge(status, events, Long::sum);
+        }
+        if (category != null) {
+            categories.merge(category, events, Long::sum);
+            categories.remove(category, 0L);
+        }
+        return new DashboardStats(Math.max(0, totalRegistrations + registrations), statuses, categories,
+                computedAt);
+    }
+
+    public long getTotalEvents() {
+        return statusCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getTotalRegistrations() {
+        return totalRegistrations;
+    }
+
+    public long getUpcomingEvents() {
+        return statusCounts.getOrDefault(EventStatus.UPCOMING, 0L);
+    }
+
+    public long getOngoingEvents() {
+        return statusCounts.getOrDefault(EventStatus.ONGOING, 0L);
+    }
+
+    public long getPastEvents() {
+        return statusCounts.getOrDefault(EventStatus.PAST, 0L);
+    }
+
+    /**
+     * @return category name -> event count, in category order
+     */
+    public Map<String, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
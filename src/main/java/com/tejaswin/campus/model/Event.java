@@ -1,21 +1,32 @@
 package com.tejaswin.campus.model;
 
+import com.tejaswin.campus.config.SecondLevelCacheConfig;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.validator.constraints.URL;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.EVENTS)
 @Table(name = "events")
 public class Event {
 
@@ -61,12 +72,26 @@ public class Event {
     @Column(length = 1000)
     private String responsesLink;
 
-    @Lob
-    @Column(name = "image_data", columnDefinition = "MEDIUMBLOB")
-    private byte[] imageData;
+    @Column(name = "has_image", nullable = false)
+    private boolean hasImage;
 
-    @Column(name = "image_mime_type")
-    private String imageMimeType;
+    // Registration clicks queue in WaitingRoom and are admitted at a fixed rate
+    @Column(name = "waiting_room", nullable = false)
+    private boolean waitingRoom;
+
+    // Derived from the dates on every write; EventStatusScheduler advances it as time passes
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EventStatus status = EventStatus.UPCOMING;
+
+    // Maintained in SQL next to each registration write; never written from the entity
+    @ColumnDefault("0")
+    @Column(name = "registration_count", nullable = false, insertable = false, updatable = false)
+    private long registrationCount;
+
+    // Image accepted by EventService.saveUploadedImage, written once the event has an id
+    @Transient
+    private EventImage pendingImage;
 
     public Event() {
     }
@@ -168,20 +193,46 @@ public class Event {
         this.endDateTime = endDateTime;
     }
 
-    public byte[] getImageData() {
-        return imageData;
+    public boolean isHasImage() {
+        return hasImage;
+    }
+
+    public void setHasImage(boolean hasImage) {
+        this.hasImage = hasImage;
+    }
+
+    public boolean isWaitingRoom() {
+        return waitingRoom;
+    }
+
+    public void setWaitingRoom(boolean waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
+    public EventStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EventStatus status) {
+        this.status = status;
+    }
+
+    public long getRegistrationCount() {
+        return registrationCount;
     }
 
-    public void setImageData(byte[] imageData) {
-        this.imageData = imageData;
+    @PrePersist
+    @PreUpdate
+    void refreshStatus() {
+        status = EventStatus.at(dateTime, endDateTime, LocalDateTime.now());
     }
 
-    public String getImageMimeType() {
-        return imageMimeType;
+    public EventImage getPendingImage() {
+        return pendingImage;
     }
 
-    public void setImageMimeType(String imageMimeType) {
-        this.imageMimeType = imageMimeType;
+    public void setPendingImage(EventImage pendingImage) {
+        this.pendingImage = pendingImage;
     }
 
     @Override
@@ -0,0 +1,41 @@
+package com.tejaswin.campus.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns the dashboard cards and the admin table render. Listing queries
+ * return this projection instead of managed {@link Event} entities, so rows
+ * skip the unused columns and Hibernate keeps no dirty-checking snapshot.
+ * The description stays because the card modal and the admin edit form show
+ * it in full.
+ */
+public interface EventCardView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getDateTime();
+
+    LocalDateTime getEndDateTime();
+
+    String getVenue();
+
+    String getCategory();
+
+    String getRegistrationLink();
+
+    String getResponsesLink();
+
+    Integer getMaxCapacity();
+
+    boolean isHasImage();
+
+    boolean isWaitingRoom();
+
+    EventStatus getStatus();
+
+    long getRegistrationCount();
+}
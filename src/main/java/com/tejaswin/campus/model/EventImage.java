@@ -0,0 +1,85 @@
+package com.tejaswin.campus.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * Poster image for an event, kept out of the events table so that listing
+ * queries never read the blob. Shares its primary key with the owning event.
+ * New images are kept in the {@code ImageStore} and only referenced here by
+ * content digest; {@code imageData} is only set on legacy rows. Digest and
+ * length are recorded at upload time and double as the strong ETag.
+ */
+@Entity
+@Table(name = "event_images")
+public class EventImage {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Lob
+    @Column(name = "image_data", columnDefinition = "MEDIUMBLOB")
+    private byte[] imageData;
+
+    @Column(name = "content_digest", length = 64)
+    private String contentDigest;
+
+    @Column(name = "content_length")
+    private Long contentLength;
+
+    @Column(name = "mime_type")
+    private String mimeType;
+
+    public EventImage() {
+    }
+
+    public EventImage(Long eventId, byte[] imageData, String mimeType) {
+        this.eventId = eventId;
+        this.imageData = imageData;
+        this.mimeType = mimeType;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public byte[] getImageData() {
+        return imageData;
+    }
+
+    public void setImageData(byte[] imageData) {
+        this.imageData = imageData;
+    }
+
+    public String getContentDigest() {
+        return contentDigest;
+    }
+
+    public void setContentDigest(String contentDigest) {
+        this.contentDigest = contentDigest;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tejaswin.campus.model;
+
+/**
+ * Read-only view of an {@link EventImage} without its blob. Enough to answer
+ * conditional requests and to locate the content.
+ */
+public class EventImageMetadata {
+
+    private final Long eventId;
+    private final String contentDigest;
+    private final Long contentLength;
+    private final String mimeType;
+    private final boolean storedInDatabase;
+
+    public EventImageMetadata(Long eventId, String contentDigest, Long contentLength, String mimeType,
+            boolean storedInDatabase) {
+        this.eventId = eventId;
+        this.contentDigest = contentDigest;
+        this.contentLength = contentLength;
+        this.mimeType = mimeType;
+        this.storedInDatabase = storedInDatabase;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getContentDigest() {
+        return contentDigest;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @return true for legacy rows whose bytes are still in event_images.image_data
+     */
+    public boolean isStoredInDatabase() {
+        return storedInDatabase;
+    }
+}
@@ -0,0 +1,92 @@
+package com.tejaswin.campus.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the columns an event page and the external registration
+ * redirect read. Safe to share between requests, unlike the managed
+ * {@link Event} entity, so it can be cached. Status and counters are left
+ * out because they change without the event being saved.
+ */
+public final class EventSnapshot {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final LocalDateTime dateTime;
+    private final LocalDateTime endDateTime;
+    private final String venue;
+    private final String category;
+    private final String registrationLink;
+    private final String responsesLink;
+    private final Integer maxCapacity;
+    private final boolean hasImage;
+    private final boolean waitingRoom;
+
+    private EventSnapshot(Event event) {
+        this.id = event.getId();
+        this.title = event.getTitle();
+        this.description = event.getDescription();
+        this.dateTime = event.getDateTime();
+        this.endDateTime = event.getEndDateTime();
+        this.venue = event.getVenue();
+        this.category = event.getCategory();
+        this.registrationLink = event.getRegistrationLink();
+        this.responsesLink = event.getResponsesLink();
+        this.maxCapacity = event.getMaxCapacity();
+        this.hasImage = event.isHasImage();
+        this.waitingRoom = event.isWaitingRoom();
+    }
+
+    public static EventSnapshot of(Event event) {
+        return new EventSnapshot(event);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getRegistrationLink() {
+        return registrationLink;
+    }
+
+    public String getResponsesLink() {
+        return responsesLink;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public boolean isHasImage() {
+        return hasImage;
+    }
+
+    public boolean isWaitingRoom() {
+        return waitingRoom;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tejaswin.campus.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lifecycle of an event, stored in {@code events.status} so listings and
+ * counts filter by equality. {@code EventStatusScheduler} moves rows forward
+ * when their start and end times pass.
+ */
+public enum EventStatus {
+    UPCOMING("Upcoming"),
+    ONGOING("Ongoing"),
+    PAST("Past");
+
+    private final String label;
+
+    EventStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Not started yet is upcoming; started with an end still ahead is ongoing;
+     * everything else, including open-ended events once started, is past.
+     */
+    public static EventStatus at(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (start == null || start.isAfter(now)) {
+            return UPCOMING;
+        }
+        if (end != null && end.isAfter(now)) {
+            return ONGOING;
+        }
+        return PAST;
+    }
+
+    /**
+     * @return the status for a dashboard filter value such as "Ongoing", or
+     *         null if the value names no status
+     */
+    public static EventStatus fromLabel(String label) {
+        for (EventStatus status : values()) {
+            if (status.label.equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tejaswin.campus.repository;
+
+import com.tejaswin.campus.model.EventImage;
+import com.tejaswin.campus.model.EventImageMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EventImageRepository extends JpaRepository<EventImage, Long> {
+
+    long countByContentDigest(String contentDigest);
+
+    @Query("SELECT i.contentDigest FROM EventImage i WHERE i.eventId = :eventId")
+    Optional<String> findContentDigestByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT new com.tejaswin.campus.model.EventImageMetadata(i.eventId, i.contentDigest, i.contentLength, "
+            + "i.mimeType, CASE WHEN i.imageData IS NULL THEN false ELSE true END) "
+            + "FROM EventImage i WHERE i.eventId = :eventId")
+    Optional<EventImageMetadata> findMetadataByEventId(@Param("eventId") Long eventId);
+}
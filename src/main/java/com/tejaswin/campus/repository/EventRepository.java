@@ -1,15 +1,27 @@
 package com.tejaswin.campus.repository;
 
+import com.tejaswin.campus.config.SecondLevelCacheConfig;
 import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.model.EventStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.repository.query.Param;
 
 @Repository
@@ -17,33 +29,74 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     List<Event> findAllByOrderByDateTimeDesc();
 
-    Page<Event> findAllByOrderByDateTimeDesc(Pageable pageable);
-
-    long countByDateTimeAfter(LocalDateTime dateTime);
+    Window<EventCardView> findCardsByOrderByDateTimeDescIdDesc(ScrollPosition position, Limit limit);
 
-    Page<Event> findByDateTimeAfterOrderByDateTimeAsc(LocalDateTime dateTime, Pageable pageable);
+    /** Every event, for building the in-memory search index. */
+    List<EventCardView> findAllCardsBy();
 
-    List<Event> findByTitleContainingIgnoreCaseOrVenueContainingIgnoreCase(String title, String venue);
-
-    Page<Event> findByTitleContainingIgnoreCaseOrVenueContainingIgnoreCase(String title, String venue,
-            Pageable pageable);
+    List<EventCardView> findCardsByIdIn(Collection<Long> ids);
 
     List<Event> findByCategoryOrderByDateTimeDesc(String category);
 
-    Page<Event> findByCategoryOrderByDateTimeDesc(String category, Pageable pageable);
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.EVENT_AGGREGATES) })
+    long countByCategory(String category);
+
+    Window<EventCardView> findCardsByCategoryOrderByDateTimeDescIdDesc(String category, ScrollPosition position,
+            Limit limit);
 
     @Query("SELECT e.category, COUNT(e) FROM Event e GROUP BY e.category")
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.EVENT_AGGREGATES) })
     List<Object[]> countEventsByCategory();
 
-    @Query("SELECT COUNT(e) FROM Event e WHERE e.dateTime <= :now AND e.endDateTime IS NOT NULL AND e.endDateTime > :now")
-    long countOngoingEvents(@Param("now") LocalDateTime now);
-
-    @Query("SELECT COUNT(e) FROM Event e WHERE (e.endDateTime IS NOT NULL AND e.endDateTime < :now) OR (e.endDateTime IS NULL AND e.dateTime < :now)")
-    long countPastEvents(@Param("now") LocalDateTime now);
-
-    @Query("SELECT e FROM Event e WHERE e.dateTime <= :now AND e.endDateTime IS NOT NULL AND e.endDateTime > :now")
-    Page<Event> findOngoingEventsPage(@Param("now") LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE (e.endDateTime IS NOT NULL AND e.endDateTime < :now) OR (e.endDateTime IS NULL AND e.dateTime < :now)")
-    Page<Event> findPastEventsPage(@Param("now") LocalDateTime now, Pageable pageable);
+    /**
+     * Everything the admin dashboard tiles show, in one statement: one row per
+     * category and status with its event and registration counts. Not
+     * query-cached: the registration counts are bumped outside Hibernate.
+     */
+    @Query("SELECT e.category, e.status, COUNT(e), SUM(e.registrationCount) FROM Event e "
+            + "GROUP BY e.category, e.status ORDER BY e.category")
+    List<Object[]> countDashboardStats();
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.EVENT_AGGREGATES) })
+    long countByStatus(EventStatus status);
+
+    Window<EventCardView> findCardsByStatusOrderByDateTimeAscIdAsc(EventStatus status, ScrollPosition position,
+            Limit limit);
+
+    Window<EventCardView> findCardsByStatusOrderByDateTimeDescIdDesc(EventStatus status, ScrollPosition position,
+            Limit limit);
+
+    @Query("SELECT e.dateTime FROM Event e WHERE e.dateTime > :after AND e.dateTime <= :until")
+    List<LocalDateTime> findStartsBetween(@Param("after") LocalDateTime after, @Param("until") LocalDateTime until);
+
+    @Query("SELECT e.endDateTime FROM Event e WHERE e.endDateTime > :after AND e.endDateTime <= :until")
+    List<LocalDateTime> findEndsBetween(@Param("after") LocalDateTime after, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.status = com.tejaswin.campus.model.EventStatus.ONGOING"
+            + " WHERE e.status = com.tejaswin.campus.model.EventStatus.UPCOMING"
+            + " AND e.dateTime <= :now AND e.endDateTime > :now")
+    int markStarted(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.status = com.tejaswin.campus.model.EventStatus.PAST"
+            + " WHERE e.status IN (com.tejaswin.campus.model.EventStatus.UPCOMING,"
+            + " com.tejaswin.campus.model.EventStatus.ONGOING)"
+            + " AND e.dateTime <= :now AND (e.endDateTime IS NULL OR e.endDateTime <= :now)")
+    int markEnded(@Param("now") LocalDateTime now);
+
+    @Query("SELECT e.registrationCount FROM Event e WHERE e.id = :id")
+    Optional<Long> findRegistrationCountById(@Param("id") Long id);
+
+    /** Every event's ID and registration counter, read from the table rather than cached entities. */
+    @Query("SELECT e.id, e.registrationCount FROM Event e")
+    List<Object[]> findRegistrationCounts();
+
+    @Query("SELECT MAX(e.id) FROM Event e")
+    Optional<Long> findMaxId();
 }
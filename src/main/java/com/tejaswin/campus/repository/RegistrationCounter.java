@@ -0,0 +1,100 @@
+package com.tejaswin.campus.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bumps and recounts {@code events.registration_count} in plain SQL. Run as a
+ * JPQL bulk update, every registration would evict the whole {@code events}
+ * second-level cache region; issued here it leaves cached events alone, so
+ * the counter is read from the column ({@link EventRepository} projections
+ * and {@code findRegistrationCount*}), never from a cached {@code Event}.
+ * Joins the caller's transaction.
+ */
+@Repository
+public class RegistrationCounter {
+
+    private static final String DRIFTED = "SELECT e.id FROM events e WHERE e.registration_count <> "
+            + "(SELECT COUNT(*) FROM registrations r WHERE r.event_id = e.id) AND ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RegistrationCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes a seat: the counter is only bumped while the event has room, so
+     * concurrent registrations cannot overfill it.
+     *
+     * @return number of events updated, 0 if the event is full or does not exist
+     */
+    public int increment(Long eventId) {
+        return jdbcTemplate.update("UPDATE events SET registration_count = registration_count + 1 "
+                + "WHERE id = ? AND (max_capacity IS NULL OR registration_count < max_capacity)", eventId);
+    }
+
+    /**
+     * Adds to several counters in one JDBC batch. A counter is only updated
+     * while its event has room for the whole addition, so an event that got
+     * a capacity since the caller last looked is not overfilled.
+     *
+     * @param additions event ID to number of new registrations
+     * @return false if some event had no room, or no longer exists; the
+     *         caller should roll back
+     */
+    public boolean add(Map<Long, Integer> additions) {
+        if (additions.isEmpty()) {
+            return true;
+        }
+        List<Object[]> rows = new ArrayList<>(additions.size());
+        additions.forEach((eventId, count) -> rows.add(new Object[] { count, eventId, count }));
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE events SET registration_count = registration_count + ? "
+                + "WHERE id = ? AND (max_capacity IS NULL OR registration_count + ? <= max_capacity)", rows);
+        for (int count : updated) {
+            if (count == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recounts the registrations of the events with IDs in (after, until] and
+     * rewrites the counters that disagree. A range without drift costs one
+     * read and takes no row locks. Otherwise the drifting events' rows are
+     * locked first: a registration holds its event's row from the insert to
+     * the commit, so the lock waits out those in flight and holds off new
+     * ones, and the recount that follows cannot miss an increment.
+     *
+     * <p>Run in a {@code READ COMMITTED} transaction, so the recount reads
+     * what committed before the lock rather than the transaction's first
+     * snapshot.
+     *
+     * @return IDs of the events whose counters were repaired
+     */
+    public List<Long> reconcile(long after, long until) {
+        List<Long> candidates = jdbcTemplate.queryForList(DRIFTED + "e.id > ? AND e.id <= ?", Long.class,
+                after, until);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        String ids = String.join(", ", Collections.nCopies(candidates.size(), "?"));
+        jdbcTemplate.queryForList("SELECT id FROM events WHERE id IN (" + ids + ") ORDER BY id FOR UPDATE",
+                Long.class, candidates.toArray());
+        List<Long> drifted = jdbcTemplate.queryForList(DRIFTED + "e.id IN (" + ids + ")", Long.class,
+                candidates.toArray());
+        if (drifted.isEmpty()) {
+            return drifted;
+        }
+        jdbcTemplate.update("UPDATE events e SET registration_count = "
+                + "(SELECT COUNT(*) FROM registrations r WHERE r.event_id = e.id) WHERE e.id IN ("
+                + String.join(", ", Collections.nCopies(drifted.size(), "?")) + ")", drifted.toArray());
+        return drifted;
+    }
+}
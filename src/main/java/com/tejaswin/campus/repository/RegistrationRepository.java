@@ -2,12 +2,9 @@ package com.tejaswin.campus.repository;
 
 import com.tejaswin.campus.model.Registration;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 @Repository
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
 
@@ -18,7 +15,4 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     @Transactional
     void deleteByEventId(Long eventId);
 
-    @Query("SELECT r.event.id, COUNT(r) FROM Registration r GROUP BY r.event.id")
-    List<Object[]> countRegistrationsGroupedByEvent();
-
 }
@@ -0,0 +1,130 @@
+package com.tejaswin.campus.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Records interest in an event with a single {@code INSERT IGNORE}: the
+ * {@code (user_id, event_id)} unique key makes a repeated click a no-op
+ * instead of a prior existence check, and MySQL downgrades a foreign-key
+ * violation for an unknown event or user to a warning the same way. Plain SQL
+ * keeps Hibernate from invalidating every second-level cache region, as it
+ * does for native statements it cannot attribute to a table. Joins the
+ * caller's transaction.
+ */
+@Repository
+public class RegistrationWriter {
+
+    private static final String INSERT = "INSERT IGNORE INTO registrations "
+            + "(user_id, event_id, registration_date, status) VALUES (?, ?, ?, 'INTERESTED')";
+    private static final String VALUES_ROW = ", (?, ?, ?, 'INTERESTED')";
+
+    /** A click not yet written. */
+    public record PendingRegistration(Long userId, Long eventId, LocalDateTime registeredAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RegistrationWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return ID of the new registration; empty if the user had already
+     *         registered or either ID does not exist
+     */
+    public Optional<Long> insertIfAbsent(Long userId, Long eventId, LocalDateTime registeredAt) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            int inserted = jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS);
+                bind(statement, 0, new PendingRegistration(userId, eventId, registeredAt));
+                return statement;
+            }, keys);
+            if (inserted == 0 || keys.getKey() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(keys.getKey().longValue());
+        } catch (DataIntegrityViolationException e) {
+            // Databases without IGNORE semantics for foreign keys
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the registrations whose user and event pair is not in the table
+     *         yet, looked up in one statement
+     */
+    public List<PendingRegistration> withoutExisting(List<PendingRegistration> pending) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        StringBuilder sql = new StringBuilder(
+                "SELECT user_id, event_id FROM registrations WHERE (user_id, event_id) IN (");
+        List<Object> args = new ArrayList<>(pending.size() * 2);
+        for (PendingRegistration registration : pending) {
+            sql.append(args.isEmpty() ? "(?, ?)" : ", (?, ?)");
+            args.add(registration.userId());
+            args.add(registration.eventId());
+        }
+        Set<List<Long>> existing = new HashSet<>(jdbcTemplate.query(sql.append(')').toString(),
+                (rs, row) -> List.of(rs.getLong(1), rs.getLong(2)), args.toArray()));
+        if (existing.isEmpty()) {
+            return pending;
+        }
+        return pending.stream()
+                .filter(r -> !existing.contains(List.of(r.userId(), r.eventId())))
+                .toList();
+    }
+
+    /**
+     * Writes several registrations with one multi-row {@code INSERT IGNORE}.
+     *
+     * @return IDs of the rows created. When every row was created they are
+     *         in the order of {@code pending}, as the statement takes one
+     *         block of consecutive IDs; when some were ignored there are
+     *         fewer, and which rows they belong to is unknown.
+     */
+    public List<Long> insertAllIfAbsent(List<PendingRegistration> pending) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        String sql = INSERT + VALUES_ROW.repeat(pending.size() - 1);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < pending.size(); i++) {
+                bind(statement, i * 3, pending.get(i));
+            }
+            return statement;
+        }, keys);
+        return keys.getKeyList().stream()
+                .map(row -> ((Number) row.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private static void bind(PreparedStatement statement, int offset, PendingRegistration registration)
+            throws SQLException {
+        statement.setLong(offset + 1, registration.userId());
+        statement.setLong(offset + 2, registration.eventId());
+        // Bound the way Hibernate binds it under hibernate.jdbc.time_zone=UTC
+        statement.setTimestamp(offset + 3, Timestamp.valueOf(registration.registeredAt()),
+                Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+    }
+}
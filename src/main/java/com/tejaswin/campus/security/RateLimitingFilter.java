@@ -2,45 +2,92 @@ package com.tejaswin.campus.security;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.User;
+import com.tejaswin.campus.service.SessionService;
 
+/**
+ * Token-bucket rate limits from the policy table in
+ * {@code app.rate-limit.policies}. Each policy names path patterns, optional
+ * HTTP methods, whose requests share a bucket (client address, session or
+ * logged-in user) and the bucket's burst and refill. A request is checked
+ * against every policy that matches it, in order, and refused with 429 and a
+ * Retry-After header by the first one that is out of tokens. With no policies
+ * configured only {@code POST /admin/login} is limited, per client address.
+ *
+ * <p>Each policy keeps at most {@code app.rate-limit.max-keys} buckets in a
+ * Caffeine cache, whose frequency-based admission keeps the buckets of
+ * regular clients when a scraper cycles through fresh addresses or sessions.
+ * A bucket idle long enough to have refilled is dropped, which loses nothing.
+ * X-Forwarded-For is only believed from the addresses and CIDR blocks in
+ * {@code app.rate-limit.trusted-proxies}.
+ */
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
-            .maximumSize(10_000)
-            .expireAfterAccess(java.time.Duration.ofMinutes(20))
-            .build();
-    private final AppConfig appConfig;
+    private final List<Policy> policies;
+    private final List<IpAddressMatcher> trustedProxies;
 
-    public RateLimitingFilter(AppConfig appConfig) {
-        this.appConfig = appConfig;
+    public RateLimitingFilter(AppConfig appConfig, MeterRegistry meterRegistry) {
+        AppConfig.RateLimit config = appConfig.getRateLimit();
+        List<AppConfig.RateLimit.Policy> configured = config.getPolicies();
+        if (configured == null || configured.isEmpty()) {
+            configured = List.of(loginPolicy(config));
+        }
+        this.policies = new ArrayList<>(configured.size());
+        for (AppConfig.RateLimit.Policy policy : configured) {
+            policies.add(new Policy(policy, Math.max(1, config.getMaxKeys()), meterRegistry));
+        }
+        this.trustedProxies = config.getTrustedProxies() == null ? List.of()
+                : config.getTrustedProxies().stream().map(IpAddressMatcher::new).toList();
     }
 
-    private Bucket createNewBucket() {
-        AppConfig.RateLimit config = appConfig.getRateLimit();
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(config.getCapacity())
-                .refillIntervally(config.getTokens(), Duration.ofMinutes(config.getMinutes()))
-                .build();
-        return Bucket.builder().addLimit(limit).build();
+    /** The single policy of the original filter, from {@code capacity}, {@code tokens} and {@code minutes}. */
+    private static AppConfig.RateLimit.Policy loginPolicy(AppConfig.RateLimit config) {
+        AppConfig.RateLimit.Policy login = new AppConfig.RateLimit.Policy();
+        login.setName("login");
+        login.setPaths(List.of("/admin/login"));
+        login.setMethods(List.of("POST"));
+        login.setKey(AppConfig.RateLimit.Key.IP);
+        login.setCapacity(config.getCapacity());
+        login.setRefillTokens(config.getTokens());
+        login.setRefillSeconds(TimeUnit.MINUTES.toSeconds(config.getMinutes()));
+        return login;
     }
 
     @Override
@@ -48,34 +95,166 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        if ("POST".equalsIgnoreCase(request.getMethod()) && "/admin/login".equals(request.getServletPath())) {
-            String ip = getClientIp(request);
-            Bucket bucket = buckets.get(ip, k -> createNewBucket());
-
-            if (bucket.tryConsume(1)) {
-                filterChain.doFilter(request, response);
-            } else {
-                logger.warn("AUDIT: Rate limit exceeded for IP: {} on /admin/login", ip);
+        String method = request.getMethod();
+        PathContainer path = null;
+        String ip = null;
+        for (Policy policy : policies) {
+            if (!policy.matchesMethod(method)) {
+                continue;
+            }
+            if (path == null) {
+                String servletPath = request.getServletPath();
+                path = PathContainer.parsePath(servletPath != null ? servletPath : "");
+            }
+            if (!policy.matchesPath(path)) {
+                continue;
+            }
+            if (ip == null) {
+                ip = getClientIp(request);
+            }
+            String key = policy.key(request, ip);
+            ConsumptionProbe probe = policy.buckets.get(key, k -> policy.newBucket()).tryConsumeAndReturnRemaining(1);
+            if (!probe.isConsumed()) {
+                policy.rejected.increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1);
+                logger.warn("AUDIT: Rate limit '{}' exceeded by {} on {}", policy.name,
+                        PiiUtils.hashIdentifier(key), path.value());
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.getWriter().write("Too many login attempts. Please try again in 15 minutes.");
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                response.getWriter().write("Too many requests. Please try again in " + retryAfter + " seconds.");
+                return;
             }
-        } else {
-            filterChain.doFilter(request, response);
+            policy.allowed.increment();
         }
+        filterChain.doFilter(request, response);
     }
 
+    /**
+     * The client address: the nearest address in X-Forwarded-For that is not
+     * a trusted proxy, reading the header from the right, provided the
+     * request itself came from a trusted proxy. Entries further left were
+     * written by the client and could say anything.
+     */
     private String getClientIp(HttpServletRequest request) {
-        // Only trust XFF from known internal/proxy addresses; otherwise use direct IP.
-        String remoteAddr = request.getRemoteAddr();
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader != null && isTrustedProxy(remoteAddr)) {
-            return xfHeader.split(",")[0].trim();
+        // server.forward-headers-strategy=framework wraps the request with the leftmost
+        // X-Forwarded-For entry as its remote address; the connection's own is underneath
+        HttpServletRequest original = request;
+        while (original instanceof HttpServletRequestWrapper wrapper
+                && wrapper.getRequest() instanceof HttpServletRequest inner) {
+            original = inner;
+        }
+        String remoteAddr = original.getRemoteAddr();
+        String xfHeader = original.getHeader("X-Forwarded-For");
+        if (xfHeader == null || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        String[] hops = xfHeader.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
         }
         return remoteAddr;
     }
 
     private boolean isTrustedProxy(String addr) {
-        // configure via AppConfig or env var; e.g. "127.0.0.1", "10.0.0.0/8"
-        return addr.startsWith("127.") || addr.startsWith("10.");
+        if (addr == null) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(addr)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP address, so not a proxy of ours
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /** One row of the policy table with its buckets and meters. */
+    private static final class Policy {
+
+        private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+        final String name;
+        final List<PathPattern> paths;
+        final Set<String> methods;
+        final AppConfig.RateLimit.Key key;
+        final Bandwidth limit;
+        final Cache<String, Bucket> buckets;
+        final Counter allowed;
+        final Counter rejected;
+
+        Policy(AppConfig.RateLimit.Policy config, long maxKeys, MeterRegistry meterRegistry) {
+            this.name = config.getName() != null ? config.getName() : String.join(",", config.getPaths());
+            this.paths = config.getPaths().stream().map(PARSER::parse).toList();
+            this.methods = config.getMethods().stream()
+                    .map(m -> m.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.key = config.getKey() != null ? config.getKey() : AppConfig.RateLimit.Key.IP;
+            int capacity = Math.max(1, config.getCapacity());
+            int refillTokens = Math.max(1, config.getRefillTokens());
+            Duration refillPeriod = Duration.ofSeconds(Math.max(1, config.getRefillSeconds()));
+            // Shared by all buckets of the policy
+            this.limit = Bandwidth.builder()
+                    .capacity(capacity)
+                    .refillIntervally(refillTokens, refillPeriod)
+                    .build();
+            // An idle bucket is full again after this long, so forgetting it changes nothing
+            long periodsToFill = (capacity + refillTokens - 1) / refillTokens;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(refillPeriod.multipliedBy(periodsToFill))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimit." + name);
+            this.allowed = Counter.builder("rate.limit.requests")
+                    .description("Requests checked against a rate limit policy")
+                    .tag("policy", name)
+                    .tag("outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("rate.limit.requests")
+                    .description("Requests checked against a rate limit policy")
+                    .tag("policy", name)
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry);
+        }
+
+        boolean matchesMethod(String method) {
+            return methods.isEmpty() || (method != null && methods.contains(method.toUpperCase(Locale.ROOT)));
+        }
+
+        boolean matchesPath(PathContainer path) {
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Bucket newBucket() {
+            return Bucket.builder().addLimit(limit).build();
+        }
+
+        String key(HttpServletRequest request, String ip) {
+            if (key == AppConfig.RateLimit.Key.IP) {
+                return "ip:" + ip;
+            }
+            HttpSession session = request.getSession(false);
+            if (session == null) {
+                return "ip:" + ip;
+            }
+            if (key == AppConfig.RateLimit.Key.USER
+                    && session.getAttribute(SessionService.USER_SESSION_KEY) instanceof User user
+                    && user.getId() != null) {
+                return "user:" + user.getId();
+            }
+            return key == AppConfig.RateLimit.Key.SESSION ? "session:" + session.getId() : "ip:" + ip;
+        }
     }
 }
@@ -0,0 +1,148 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.DashboardStats;
+import com.tejaswin.campus.model.EventStatus;
+import com.tejaswin.campus.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of the admin dashboard figures, so rendering the
+ * dashboard does not run a count per tile.
+ *
+ * <p>The snapshot comes from one aggregate query over the events table.
+ * {@link EventService} then applies each committed event create, delete and
+ * registration to it as a delta; writes a delta cannot express (updates,
+ * status transitions) mark it stale instead. Either way it is recomputed once
+ * it is older than {@code app.stats.max-staleness-seconds}, which bounds the
+ * drift from writes made by other instances. Only one caller recomputes at a
+ * time; the others are served the previous snapshot meanwhile.
+ */
+@Service
+public class DashboardStatsService {
+
+    private final EventRepository eventRepository;
+    private final Duration maxStaleness;
+    private final Clock clock;
+    private final AtomicReference<DashboardStats> snapshot = new AtomicReference<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final ReentrantLock refreshing = new ReentrantLock();
+    private volatile boolean stale;
+
+    @Autowired
+    public DashboardStatsService(EventRepository eventRepository, AppConfig appConfig) {
+        this(eventRepository, appConfig, Clock.systemUTC());
+    }
+
+    DashboardStatsService(EventRepository eventRepository, AppConfig appConfig, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.maxStaleness = Duration.ofSeconds(appConfig.getStats().getMaxStalenessSeconds());
+        this.clock = clock;
+    }
+
+    /**
+     * @return the current snapshot, recomputing it first if there is none yet,
+     *         or if it is stale and no other caller is already recomputing
+     */
+    public DashboardStats get() {
+        DashboardStats current = snapshot.get();
+        if (current != null && isFresh(current)) {
+            return current;
+        }
+        if (current == null) {
+            refreshing.lock();
+        } else if (!refreshing.tryLock()) {
+            return current;
+        }
+        try {
+            current = snapshot.get();
+            return current != null && isFresh(current) ? current : refresh();
+        } finally {
+            refreshing.unlock();
+        }
+    }
+
+    /** Call after a new event has committed. */
+    public void eventAdded(String category, EventStatus status) {
+        apply(category, status, 1, 0);
+    }
+
+    /**
+     * Call after an event and its registrations have been deleted and the
+     * delete has committed.
+     */
+    public void eventRemoved(String category, EventStatus status, long registrations) {
+        apply(category, status, -1, -registrations);
+    }
+
+    /** Call after a new registration has committed. */
+    public void registrationAdded() {
+        apply(null, null, 0, 1);
+    }
+
+    /** Call after a batch of registrations has committed. */
+    public void registrationsAdded(long count) {
+        apply(null, null, 0, count);
+    }
+
+    /**
+     * Marks the snapshot stale, so the next read recomputes it. Call after
+     * writes that move events between categories or statuses.
+     */
+    public void invalidate() {
+        stale = true;
+        writes.incrementAndGet();
+    }
+
+    private void apply(String category, EventStatus status, long events, long registrations) {
+        snapshot.updateAndGet(s -> s == null ? null : s.plus(category, status, events, registrations));
+        writes.incrementAndGet();
+    }
+
+    private boolean isFresh(DashboardStats stats) {
+        return !stale && stats.getComputedAt().plus(maxStaleness).isAfter(clock.instant());
+    }
+
+    /**
+     * Recomputes the snapshot. A delta applied while the query runs lands on
+     * the old snapshot and is lost when it is replaced, so in that case the new
+     * one is marked stale straight away.
+     */
+    private DashboardStats refresh() {
+        long version = writes.get();
+        stale = false;
+        DashboardStats computed = compute();
+        snapshot.set(computed);
+        if (writes.get() != version) {
+            stale = true;
+        }
+        return computed;
+    }
+
+    private DashboardStats compute() {
+        Instant computedAt = clock.instant();
+        Map<EventStatus, Long> statuses = new EnumMap<>(EventStatus.class);
+        Map<String, Long> categories = new LinkedHashMap<>();
+        long registrations = 0;
+        List<Object[]> rows = eventRepository.countDashboardStats();
+        for (Object[] row : rows) {
+            long events = (Long) row[2];
+            statuses.merge((EventStatus) row[1], events, Long::sum);
+            categories.merge((String) row[0], events, Long::sum);
+            registrations += (Long) row[3];
+        }
+        return new DashboardStats(registrations, statuses, categories, computedAt);
+    }
+}
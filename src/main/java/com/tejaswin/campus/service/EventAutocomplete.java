@@ -0,0 +1,327 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * As-you-type suggestions for the dashboard search box, answered from memory.
+ *
+ * <p>Event titles, venues and categories are kept in a prefix trie, once per
+ * word they contain, so "hack" suggests "Spring Hackathon". When the typed
+ * prefix itself yields too few suggestions, the trie is walked again with a
+ * Levenshtein row per node (a Levenshtein automaton simulated over the trie),
+ * accepting one edit for short input and two from six characters on.
+ *
+ * <p>Kept current by {@link EventService} after each committed save or
+ * delete; a phrase shared by several events (a venue, a category) stays until
+ * the last of them is gone and ranks higher the more events use it.
+ */
+@Component
+public class EventAutocomplete {
+
+    public enum Kind {
+        TITLE, VENUE, CATEGORY
+    }
+
+    public record Suggestion(String text, Kind kind) {
+    }
+
+    /** Terminals visited per lookup; bounds the cost of one-letter prefixes. */
+    private static final int MAX_CANDIDATES = 256;
+
+    private final EventRepository eventRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final Map<Long, List<Phrase>> phrasesByEvent = new HashMap<>();
+    private volatile boolean loaded;
+
+    public EventAutocomplete(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Builds the trie from the events table unless it is already built.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (EventCardView event : eventRepository.findAllCardsBy()) {
+                replace(event.getId(), event.getTitle(), event.getVenue(), event.getCategory());
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the phrases of an event. Call after the save has
+     * committed.
+     */
+    public void update(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            replace(event.getId(), event.getTitle(), event.getVenue(), event.getCategory());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the phrases of an event. Call after the delete has committed.
+     */
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            release(phrasesByEvent.remove(eventId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param input partial text as typed
+     * @param limit maximum number of suggestions
+     * @return suggestions, exact prefix matches first, then by how many events
+     *         share the phrase
+     */
+    public List<Suggestion> suggest(String input, int limit) {
+        String prefix = EventSearchIndex.normalize(input);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (!loaded) {
+            load();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Phrase, Integer> found = new IdentityHashMap<>();
+            Node node = root.find(prefix);
+            if (node != null) {
+                node.collect(found, 0);
+            }
+            if (found.size() < limit && prefix.length() >= 3) {
+                int maxEdits = prefix.length() >= 6 ? 2 : 1;
+                int[] row = new int[prefix.length() + 1];
+                Arrays.setAll(row, i -> i);
+                for (int i = 0; i < root.size; i++) {
+                    fuzzy(root.children[i], root.labels[i], prefix, row, maxEdits, found);
+                }
+            }
+            return found.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<Phrase, Integer>>comparingInt(Map.Entry::getValue)
+                            .thenComparing(e -> -e.getKey().events)
+                            .thenComparing(e -> e.getKey().kind)
+                            .thenComparing(e -> e.getKey().text))
+                    .limit(limit)
+                    .map(e -> new Suggestion(e.getKey().text, e.getKey().kind))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One step of the Levenshtein automaton: extends the edit-distance row of
+     * the parent by {@code label}. Once the whole input is within reach the
+     * node's subtree is collected; once no cell is, the branch is pruned.
+     */
+    private static void fuzzy(Node node, char label, String input, int[] parentRow, int maxEdits,
+            Map<Phrase, Integer> found) {
+        int[] row = new int[parentRow.length];
+        row[0] = parentRow[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int substitution = parentRow[i - 1] + (input.charAt(i - 1) == label ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(row[i - 1] + 1, parentRow[i] + 1));
+            best = Math.min(best, row[i]);
+        }
+        int distance = row[row.length - 1];
+        if (distance <= maxEdits) {
+            node.collect(found, distance);
+            return;
+        }
+        if (best > maxEdits) {
+            return;
+        }
+        for (int i = 0; i < node.size; i++) {
+            fuzzy(node.children[i], node.labels[i], input, row, maxEdits, found);
+        }
+    }
+
+    private void replace(Long eventId, String title, String venue, String category) {
+        List<Phrase> previous = phrasesByEvent.remove(eventId);
+        List<Phrase> current = new ArrayList<>(3);
+        acquire(current, title, Kind.TITLE);
+        acquire(current, venue, Kind.VENUE);
+        acquire(current, category, Kind.CATEGORY);
+        phrasesByEvent.put(eventId, current);
+        release(previous);
+    }
+
+    private void acquire(List<Phrase> owned, String text, Kind kind) {
+        String normalized = EventSearchIndex.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Phrase phrase = phrases.computeIfAbsent(kind + ":" + normalized, key -> {
+            Phrase created = new Phrase(text.trim(), kind, normalized);
+            forEachKey(created, k -> root.insert(k, 0, created));
+            return created;
+        });
+        phrase.events++;
+        owned.add(phrase);
+    }
+
+    private void release(List<Phrase> owned) {
+        if (owned == null) {
+            return;
+        }
+        for (Phrase phrase : owned) {
+            if (--phrase.events == 0) {
+                phrases.remove(phrase.kind + ":" + phrase.normalized);
+                forEachKey(phrase, k -> root.delete(k, 0, phrase));
+            }
+        }
+    }
+
+    /** The phrase itself and every suffix of it that starts a word. */
+    private static void forEachKey(Phrase phrase, Consumer<String> action) {
+        String normalized = phrase.normalized;
+        action.accept(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            action.accept(normalized.substring(i + 1));
+        }
+    }
+
+    private static final class Phrase {
+
+        private final String text;
+        private final Kind kind;
+        private final String normalized;
+        private int events;
+
+        Phrase(String text, Kind kind, String normalized) {
+            this.text = text;
+            this.kind = kind;
+            this.normalized = normalized;
+        }
+    }
+
+    /**
+     * Trie node with its children in parallel sorted arrays, which is far
+     * smaller than a map per node.
+     */
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private List<Phrase> terminals;
+
+        Node find(String key) {
+            Node node = this;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            return node;
+        }
+
+        void insert(String key, int depth, Phrase phrase) {
+            if (depth == key.length()) {
+                if (terminals == null) {
+                    terminals = new ArrayList<>(1);
+                }
+                terminals.add(phrase);
+                return;
+            }
+            char label = key.charAt(depth);
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index < 0) {
+                index = -index - 1;
+                if (size == labels.length) {
+                    int capacity = Math.max(2, size * 2);
+                    labels = Arrays.copyOf(labels, capacity);
+                    children = Arrays.copyOf(children, capacity);
+                }
+                System.arraycopy(labels, index, labels, index + 1, size - index);
+                System.arraycopy(children, index, children, index + 1, size - index);
+                labels[index] = label;
+                children[index] = new Node();
+                size++;
+            }
+            children[index].insert(key, depth + 1, phrase);
+        }
+
+        /**
+         * @return true if this node is now empty and can be unlinked
+         */
+        boolean delete(String key, int depth, Phrase phrase) {
+            if (depth == key.length()) {
+                if (terminals != null) {
+                    terminals.remove(phrase);
+                    if (terminals.isEmpty()) {
+                        terminals = null;
+                    }
+                }
+            } else {
+                int index = Arrays.binarySearch(labels, 0, size, key.charAt(depth));
+                if (index >= 0 && children[index].delete(key, depth + 1, phrase)) {
+                    System.arraycopy(labels, index + 1, labels, index, size - index - 1);
+                    System.arraycopy(children, index + 1, children, index, size - index - 1);
+                    children[--size] = null;
+                }
+            }
+            return size == 0 && terminals == null;
+        }
+
+        /**
+         * Adds the phrases in this subtree, keeping the smallest distance seen
+         * for each, until {@link #MAX_CANDIDATES} phrases are collected.
+         */
+        void collect(Map<Phrase, Integer> found, int distance) {
+            if (terminals != null) {
+                for (Phrase phrase : terminals) {
+                    if (found.size() >= MAX_CANDIDATES && !found.containsKey(phrase)) {
+                        return;
+                    }
+                    found.merge(phrase, distance, Math::min);
+                }
+            }
+            for (int i = 0; i < size && found.size() < MAX_CANDIDATES; i++) {
+                children[i].collect(found, distance);
+            }
+        }
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
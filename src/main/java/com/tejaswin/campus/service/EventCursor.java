@@ -0,0 +1,89 @@
+package com.tejaswin.campus.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes the (date_time, id) keyset of an event listing as an opaque URL-safe
+ * token. Tokens carry no page number, so following one costs an index seek no
+ * matter how deep the listing goes. Ranked search results are paged in memory
+ * instead, and their tokens carry a position in the ranking.
+ */
+final class EventCursor {
+
+    private static final char FORWARD = 'f';
+    private static final char BACKWARD = 'b';
+    private static final char OFFSET = 'o';
+
+    private EventCursor() {
+    }
+
+    static String encode(KeysetScrollPosition position) {
+        Object dateTime = position.getKeys().get("dateTime");
+        Object id = position.getKeys().get("id");
+        if (!(dateTime instanceof LocalDateTime) || !(id instanceof Number)) {
+            return null;
+        }
+        String raw = (position.scrollsForward() ? FORWARD : BACKWARD) + "|" + dateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded position, or the initial position if the token is
+     *         missing or malformed
+     */
+    static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank() || cursor.length() > 128) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || parts[0].length() != 1) {
+                return ScrollPosition.keyset();
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("dateTime", LocalDateTime.parse(parts[1]));
+            keys.put("id", Long.parseLong(parts[2]));
+            return switch (parts[0].charAt(0)) {
+                case FORWARD -> ScrollPosition.forward(keys);
+                case BACKWARD -> ScrollPosition.backward(keys);
+                default -> ScrollPosition.keyset();
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+
+    static String encodeOffset(int offset) {
+        String raw = OFFSET + "|" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the position in the ranking, or 0 if the token is missing,
+     *         malformed or a keyset token
+     */
+    static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank() || cursor.length() > 128) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2 || !parts[0].equals(String.valueOf(OFFSET))) {
+                return 0;
+            }
+            return Math.max(0, Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+}
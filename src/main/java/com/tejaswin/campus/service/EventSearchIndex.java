@@ -0,0 +1,309 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index over event title, venue, category and description,
+ * so dashboard search never runs a {@code LIKE '%q%'} scan. The index only
+ * yields ranked event IDs; rows are then fetched by primary key.
+ *
+ * <p>Loaded once at startup (or on the first search, whichever comes first)
+ * and kept current by {@link EventService} after each committed save or
+ * delete. An event matches when it contains at least
+ * {@code app.search.min-similarity} of the query's trigrams, which also
+ * tolerates a mistyped letter; query words shorter than three characters must
+ * appear verbatim.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Relevance weight per field, in {@link Document#fields} order. */
+    private static final double[] FIELD_WEIGHTS = { 4.0, 2.0, 2.0, 1.0 };
+    private static final double TITLE_PREFIX_BONUS = 1.0;
+
+    private final EventRepository eventRepository;
+    private final AppConfig.Search config;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * @param ids   IDs of matching events, most relevant first, at most
+     *              {@code app.search.max-results}
+     * @param total number of matching events, including those past the cap
+     */
+    public record Ranking(List<Long> ids, int total) {
+
+        static final Ranking EMPTY = new Ranking(List.of(), 0);
+    }
+
+    public EventSearchIndex(EventRepository eventRepository, AppConfig appConfig) {
+        this.eventRepository = eventRepository;
+        this.config = appConfig.getSearch();
+    }
+
+    /**
+     * Builds the index from the events table unless it is already built.
+     * Holding the write lock while reading means a save committed meanwhile is
+     * applied after the build, never overwritten by it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<EventCardView> events = eventRepository.findAllCardsBy();
+            for (EventCardView event : events) {
+                remove0(event.getId());
+                add(event.getId(), new Document(event.getTitle(), event.getVenue(), event.getCategory(),
+                        event.getDescription()));
+            }
+            loaded = true;
+            logger.info("Search index loaded: {} events, {} trigrams", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces an event. Call after the save has committed.
+     */
+    public void update(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        Document document = new Document(event.getTitle(), event.getVenue(), event.getCategory(),
+                event.getDescription());
+        lock.writeLock().lock();
+        try {
+            remove0(event.getId());
+            add(event.getId(), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops an event. Call after the delete has committed.
+     */
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            remove0(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param query free text as typed by the user
+     * @return IDs of matching events, most relevant first, at most
+     *         {@code app.search.max-results}; empty for a blank query
+     */
+    public List<Long> search(String query) {
+        return rank(query).ids();
+    }
+
+    /**
+     * Like {@link #search(String)}, together with the number of matches
+     * before the cap, so a listing can show its total without ranking twice.
+     */
+    public Ranking rank(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Ranking.EMPTY;
+        }
+        if (!loaded) {
+            load();
+        }
+        String[] words = normalized.split(" ");
+        long[] grams = trigrams(normalized);
+        List<String> shortWords = Arrays.stream(words).filter(w -> w.length() < 3).toList();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> candidates = grams.length == 0 ? allDocuments() : countHits(grams);
+            int minHits = (int) Math.ceil(config.getMinSimilarity() * grams.length);
+            List<Scored> matches = new ArrayList<>();
+            for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+                Document document = documents.get(candidate.getKey());
+                if (candidate.getValue() < minHits || !document.containsAll(shortWords)) {
+                    continue;
+                }
+                matches.add(new Scored(candidate.getKey(), document.score(grams, normalized)));
+            }
+            List<Long> ids = matches.stream()
+                    .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                            .thenComparing(Scored::eventId, Comparator.reverseOrder()))
+                    .limit(Math.max(1, config.getMaxResults()))
+                    .map(Scored::eventId)
+                    .toList();
+            return new Ranking(ids, matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> countHits(long[] grams) {
+        Map<Long, Integer> hits = new HashMap<>();
+        for (long gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.forEach(id -> hits.merge(id, 1, Integer::sum));
+            }
+        }
+        return hits;
+    }
+
+    private Map<Long, Integer> allDocuments() {
+        Map<Long, Integer> all = new HashMap<>();
+        documents.keySet().forEach(id -> all.put(id, 0));
+        return all;
+    }
+
+    private void add(Long eventId, Document document) {
+        documents.put(eventId, document);
+        for (long gram : document.grams) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(eventId);
+        }
+    }
+
+    private void remove0(Long eventId) {
+        Document previous = documents.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        for (long gram : previous.grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(eventId) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses punctuation to single spaces,
+     * so "Café-Night" and "cafe night" index identically.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        String plain = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(plain).replaceAll(" ").trim();
+    }
+
+    /**
+     * @return distinct, sorted trigrams of each word of normalized text; words
+     *         are not padded, so a query trigram also matches inside a word
+     *         the way {@code LIKE '%q%'} did
+     */
+    static long[] trigrams(String normalized) {
+        Set<Long> grams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            for (int i = 0; i + 3 <= word.length(); i++) {
+                grams.add(((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2));
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private record Scored(Long eventId, double score) {
+    }
+
+    private static final class Document {
+
+        private final String[] fields;
+        private final long[][] fieldGrams;
+        private final long[] grams;
+
+        Document(String title, String venue, String category, String description) {
+            this.fields = new String[] { normalize(title), normalize(venue), normalize(category),
+                    normalize(description) };
+            this.fieldGrams = new long[fields.length][];
+            Set<Long> all = new HashSet<>();
+            for (int i = 0; i < fields.length; i++) {
+                fieldGrams[i] = trigrams(fields[i]);
+                for (long gram : fieldGrams[i]) {
+                    all.add(gram);
+                }
+            }
+            this.grams = all.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        boolean containsAll(List<String> words) {
+            for (String word : words) {
+                if (Arrays.stream(fields).noneMatch(field -> field.contains(word))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Weighted share of the query trigrams found in each field, plus the
+         * field weight again where the whole query appears verbatim.
+         */
+        double score(long[] queryGrams, String query) {
+            double score = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (queryGrams.length > 0) {
+                    int found = 0;
+                    for (long gram : queryGrams) {
+                        if (Arrays.binarySearch(fieldGrams[i], gram) >= 0) {
+                            found++;
+                        }
+                    }
+                    score += FIELD_WEIGHTS[i] * found / queryGrams.length;
+                }
+                if (fields[i].contains(query)) {
+                    score += FIELD_WEIGHTS[i];
+                }
+            }
+            if (fields[0].startsWith(query)) {
+                score += TITLE_PREFIX_BONUS;
+            }
+            return score;
+        }
+    }
+}
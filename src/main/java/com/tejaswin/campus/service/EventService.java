@@ -1,35 +1,61 @@
 package com.tejaswin.campus.service;
 
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.CursorPage;
 import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.model.EventImage;
+import com.tejaswin.campus.model.EventImageMetadata;
+import com.tejaswin.campus.model.EventSnapshot;
+import com.tejaswin.campus.model.EventStatus;
 import com.tejaswin.campus.model.Registration;
-import com.tejaswin.campus.model.User;
+import com.tejaswin.campus.repository.EventImageRepository;
 import com.tejaswin.campus.repository.EventRepository;
+import com.tejaswin.campus.repository.RegistrationCounter;
 import com.tejaswin.campus.repository.RegistrationRepository;
-import com.tejaswin.campus.repository.UserRepository;
+import com.tejaswin.campus.repository.RegistrationWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.springframework.web.multipart.MultipartFile;
 import com.tejaswin.campus.security.SecurityAuditLogger;
+import com.tejaswin.campus.storage.ImageCache;
+import com.tejaswin.campus.storage.ImageStore;
+import com.tejaswin.campus.storage.ImageVariant;
+import com.tejaswin.campus.exception.ImageUploadRejectedException;
+import com.tejaswin.campus.service.ImageUploadService.UploadedImage;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 @Service
 public class EventService {
@@ -37,33 +63,115 @@ public class EventService {
 
     private final EventRepository eventRepository;
 
+    private final EventImageRepository eventImageRepository;
+
     private final RegistrationRepository registrationRepository;
 
-    private final UserRepository userRepository;
+    private final RegistrationCounter registrationCounter;
+
+    private final RegistrationWriter registrationWriter;
+
     private final SecurityAuditLogger auditLogger;
+    private final ImageStore imageStore;
+    private final ImageVariantService imageVariantService;
+    private final ImageCache imageCache;
+    private final ImageUploadService imageUploadService;
+    private final AppConfig appConfig;
+    private final ListingTotalsCache listingTotals;
+    private final EventSearchIndex searchIndex;
+    private final EventAutocomplete autocomplete;
+    private final EventStatusScheduler statusScheduler;
+    private final DashboardStatsService dashboardStats;
+    private final RegistrationAnalytics analytics;
+    private final EventSnapshotCache snapshots;
+    private final InterestWriteBehind interestWriteBehind;
+    private final InterestMembership interestMembership;
+    private final SeatReservations seatReservations;
+    private final TransactionTemplate transactionTemplate;
 
     private static final Set<String> ALLOWED_IMAGE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".webp", ".gif");
 
+    /** Attempts at a registration chosen as a deadlock victim, the first included. */
+    private static final int REGISTRATION_ATTEMPTS = 3;
+    private static final long REGISTRATION_BACKOFF_MILLIS = 20;
+
+    /** What a registration attempt came to. */
+    private enum RegistrationOutcome {
+        CREATED, EXISTS, FULL
+    }
+
     /**
      * Constructs the EventService with required repositories, logger and resolves
      * the base
      * upload directory.
      *
      * @param eventRepository        repository for events
+     * @param eventImageRepository   repository for event poster images
      * @param registrationRepository repository for registrations
-     * @param userRepository         repository for users
+     * @param registrationCounter    per-event registration counter updates
+     * @param registrationWriter     single-statement registration inserts
      * @param auditLogger            logger for security events
-     * @param uploadDir              configured upload directory (relative or
-     *                               absolute)
+     * @param imageStore             content-addressed storage for uploaded images
+     * @param imageVariantService    background generator for downscaled variants
+     * @param imageCache             byte-bounded cache of hot image content
+     * @param imageUploadService     validating, streaming upload pipeline
+     * @param appConfig              application settings (page size cap)
+     * @param listingTotals          cached row totals of the dashboard listings
+     * @param searchIndex            in-memory trigram index used by search
+     * @param autocomplete           in-memory suggestions for the search box
+     * @param statusScheduler        advances event status at start and end times
+     * @param dashboardStats         in-memory figures of the admin dashboard
+     * @param analytics              in-memory registration counts
+     * @param snapshots              cached event snapshots for the public pages
+     * @param interestWriteBehind    optional queue for interest clicks
+     * @param interestMembership     in-memory record of who is registered
+     * @param seatReservations       in-memory seat counts of limited events
+     * @param transactionManager     transactions of the retried registration
      */
     public EventService(EventRepository eventRepository,
+            EventImageRepository eventImageRepository,
             RegistrationRepository registrationRepository,
-            UserRepository userRepository,
-            SecurityAuditLogger auditLogger) {
+            RegistrationCounter registrationCounter,
+            RegistrationWriter registrationWriter,
+            SecurityAuditLogger auditLogger,
+            ImageStore imageStore,
+            ImageVariantService imageVariantService,
+            ImageCache imageCache,
+            ImageUploadService imageUploadService,
+            AppConfig appConfig,
+            ListingTotalsCache listingTotals,
+            EventSearchIndex searchIndex,
+            EventAutocomplete autocomplete,
+            EventStatusScheduler statusScheduler,
+            DashboardStatsService dashboardStats,
+            RegistrationAnalytics analytics,
+            EventSnapshotCache snapshots,
+            InterestWriteBehind interestWriteBehind,
+            InterestMembership interestMembership,
+            SeatReservations seatReservations,
+            PlatformTransactionManager transactionManager) {
         this.eventRepository = eventRepository;
+        this.eventImageRepository = eventImageRepository;
         this.registrationRepository = registrationRepository;
-        this.userRepository = userRepository;
+        this.registrationCounter = registrationCounter;
+        this.registrationWriter = registrationWriter;
         this.auditLogger = auditLogger;
+        this.imageStore = imageStore;
+        this.imageVariantService = imageVariantService;
+        this.imageCache = imageCache;
+        this.imageUploadService = imageUploadService;
+        this.appConfig = appConfig;
+        this.listingTotals = listingTotals;
+        this.searchIndex = searchIndex;
+        this.autocomplete = autocomplete;
+        this.statusScheduler = statusScheduler;
+        this.dashboardStats = dashboardStats;
+        this.analytics = analytics;
+        this.snapshots = snapshots;
+        this.interestWriteBehind = interestWriteBehind;
+        this.interestMembership = interestMembership;
+        this.seatReservations = seatReservations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -76,20 +184,55 @@ public class EventService {
         return eventRepository.findAllByOrderByDateTimeDesc();
     }
 
+    /**
+     * Keyset-paginated listing of all events, newest first.
+     *
+     * @param cursor opaque token from a previous page, or null for the first page
+     * @param size   requested page size; capped at {@code app.pagination.max-page-size}
+     */
     @Transactional(readOnly = true)
-    public Page<Event> findAllEventsPage(Pageable pageable) {
-        return eventRepository.findAllByOrderByDateTimeDesc(pageable);
+    public CursorPage<EventCardView> findAllEventsPage(String cursor, int size) {
+        return scroll(cursor, size, eventRepository::findCardsByOrderByDateTimeDescIdDesc);
     }
 
     /**
-     * Persists an event. Logs an AUDIT message indicating create or update.
+     * Persists an event, and its pending uploaded image if any. Logs an AUDIT
+     * message indicating create or update.
      *
      * @param event event to save
      */
     @Transactional
     public void saveEvent(Event event) {
         boolean isNew = event.getId() == null;
+        EventImage pendingImage = event.getPendingImage();
+        String replacedDigest = null;
+        if (pendingImage != null && !isNew) {
+            replacedDigest = eventImageRepository.findContentDigestByEventId(event.getId()).orElse(null);
+        }
         eventRepository.save(event);
+        if (pendingImage != null) {
+            pendingImage.setEventId(event.getId());
+            eventImageRepository.save(pendingImage);
+            event.setPendingImage(null);
+            if (replacedDigest != null && !replacedDigest.equals(pendingImage.getContentDigest())) {
+                // The stored content itself is left to the ImageSweeper
+                imageCache.invalidate(replacedDigest);
+            }
+        }
+        invalidateListingTotals();
+        invalidateSnapshot(event.getId());
+        afterCommit(() -> {
+            searchIndex.update(event);
+            autocomplete.update(event);
+            statusScheduler.schedule(event);
+            analytics.eventSaved(event);
+            seatReservations.invalidate(event.getId());
+            if (isNew) {
+                dashboardStats.eventAdded(event.getCategory(), event.getStatus());
+            } else {
+                dashboardStats.invalidate();
+            }
+        });
         if (isNew) {
             logger.info("AUDIT: Event created: '{}' (ID: {})", event.getTitle(), event.getId());
         } else {
@@ -109,8 +252,99 @@ public class EventService {
     }
 
     /**
-     * Searches events by title or venue containing the query (case-insensitive).
-     * Falls back to all events if query is null/blank.
+     * Finds an event for read-only display, from the snapshot cache when
+     * possible. Use {@link #findEventById(Long)} for an event to modify.
+     *
+     * @param id event identifier, non-null
+     * @return snapshot or null if not found
+     */
+    public EventSnapshot findEventSnapshot(@NonNull Long id) {
+        return snapshots.get(id, key -> eventRepository.findById(key).map(EventSnapshot::of).orElse(null));
+    }
+
+    /**
+     * Looks up digest, length and MIME type of an event's image without reading
+     * any image bytes. Answers conditional requests with one primary key lookup.
+     *
+     * @param eventId event identifier, non-null
+     * @return metadata or null if the event has no image
+     */
+    @Transactional(readOnly = true)
+    public EventImageMetadata findEventImageMetadata(@NonNull Long eventId) {
+        return eventImageRepository.findMetadataByEventId(eventId).orElse(null);
+    }
+
+    /**
+     * Loads the poster image of an event including a legacy blob. Only needed
+     * for rows whose bytes are still in the database; event listings only see
+     * {@link Event#isHasImage()}.
+     *
+     * @param eventId event identifier, non-null
+     * @return image or null if the event has none
+     */
+    @Transactional(readOnly = true)
+    public EventImage findEventImage(@NonNull Long eventId) {
+        return eventImageRepository.findById(eventId).orElse(null);
+    }
+
+    /**
+     * Checks whether a variant has been generated, without reading it.
+     *
+     * @param image   image metadata
+     * @param variant requested rendition
+     * @return true if {@link #loadImageContent} can serve the variant
+     */
+    public boolean hasImageVariant(EventImageMetadata image, ImageVariant variant) {
+        String digest = image.getContentDigest();
+        if (digest == null || image.isStoredInDatabase()) {
+            return false;
+        }
+        return imageCache.contains(ImageCache.key(digest, variant)) || imageStore.loadVariant(digest, variant) != null;
+    }
+
+    /**
+     * Opens the content of an image through the hot image cache, falling back
+     * to the {@link ImageStore} or, for legacy rows, the database blob.
+     *
+     * @param image   image metadata
+     * @param variant requested rendition, or null for the original
+     * @return resource or null if the content (or variant) does not exist
+     */
+    @Transactional(readOnly = true)
+    public Resource loadImageContent(EventImageMetadata image, ImageVariant variant) throws IOException {
+        String digest = image.getContentDigest();
+        if (variant != null && (digest == null || image.isStoredInDatabase())) {
+            return null; // variants are only generated for stored images
+        }
+        String cacheKey = digest != null ? ImageCache.key(digest, variant) : null;
+        Resource cached = cacheKey != null ? imageCache.get(cacheKey) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        Resource source;
+        if (image.isStoredInDatabase()) {
+            EventImage legacyImage = eventImageRepository.findById(image.getEventId()).orElse(null);
+            source = legacyImage != null && legacyImage.getImageData() != null
+                    ? new ByteArrayResource(legacyImage.getImageData())
+                    : null;
+        } else if (digest == null) {
+            source = null;
+        } else if (variant != null) {
+            source = imageStore.loadVariant(digest, variant);
+        } else {
+            source = imageStore.load(digest);
+        }
+        if (source == null || cacheKey == null) {
+            return source;
+        }
+        return imageCache.load(cacheKey, source);
+    }
+
+    /**
+     * Searches events by title, venue, category and description through the
+     * {@link EventSearchIndex}, most relevant first. Falls back to all events
+     * if query is null/blank.
      *
      * @param query search text, may be null/blank
      * @return list of events matching criteria
@@ -120,29 +354,59 @@ public class EventService {
         if (query == null || query.trim().isEmpty()) {
             return findAllEvents();
         }
-        return eventRepository.findByTitleContainingIgnoreCaseOrVenueContainingIgnoreCase(query.trim(), query.trim());
+        List<Long> ids = searchIndex.search(query);
+        return inRankOrder(ids, eventRepository.findAllById(ids), Event::getId);
     }
 
+    /**
+     * One page of ranked search results, carrying the number of matches. The
+     * ranking comes from memory; only the rows of the requested page are
+     * fetched, by primary key.
+     */
     @Transactional(readOnly = true)
-    public Page<Event> searchEventsPage(String query, Pageable pageable) {
+    public CursorPage<EventCardView> searchEventsPage(String query, String cursor, int size) {
         if (query == null || query.trim().isEmpty()) {
-            return findAllEventsPage(pageable);
+            return findAllEventsPage(cursor, size);
+        }
+        EventSearchIndex.Ranking ranking = searchIndex.rank(query);
+        List<Long> ranked = ranking.ids();
+        int pageSize = Math.max(1, Math.min(size, appConfig.getPagination().getMaxPageSize()));
+        int offset = Math.min(EventCursor.decodeOffset(cursor), ranked.size());
+        List<Long> ids = ranked.subList(offset, Math.min(offset + pageSize, ranked.size()));
+        if (ids.isEmpty()) {
+            return new CursorPage<>(List.of(), null, null, (long) ranking.total());
         }
-        return eventRepository.findByTitleContainingIgnoreCaseOrVenueContainingIgnoreCase(query.trim(), query.trim(),
-                pageable);
+        List<EventCardView> cards = inRankOrder(ids, eventRepository.findCardsByIdIn(ids), EventCardView::getId);
+        String nextCursor = offset + pageSize < ranked.size() ? EventCursor.encodeOffset(offset + pageSize) : null;
+        String previousCursor = offset > 0 ? EventCursor.encodeOffset(Math.max(0, offset - pageSize)) : null;
+        return new CursorPage<>(cards, nextCursor, previousCursor, (long) ranking.total());
     }
 
+    /**
+     * Orders rows fetched with an IN query like the ranked IDs; IDs whose row
+     * was deleted meanwhile are skipped.
+     */
+    private static <T> List<T> inRankOrder(List<Long> ids, Iterable<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(idOf.apply(row), row));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Upcoming events are listed soonest first; ongoing and past ones newest
+     * first. Filters on the materialized {@code status} column.
+     */
     @Transactional(readOnly = true)
-    public Page<Event> findEventsByStatusPage(String status, Pageable pageable) {
-        LocalDateTime now = LocalDateTime.now();
-        if ("Upcoming".equalsIgnoreCase(status)) {
-            return eventRepository.findByDateTimeAfterOrderByDateTimeAsc(now, pageable);
-        } else if ("Ongoing".equalsIgnoreCase(status)) {
-            return eventRepository.findOngoingEventsPage(now, pageable);
-        } else if ("Past".equalsIgnoreCase(status)) {
-            return eventRepository.findPastEventsPage(now, pageable);
+    public CursorPage<EventCardView> findEventsByStatusPage(String status, String cursor, int size) {
+        EventStatus eventStatus = EventStatus.fromLabel(status);
+        if (eventStatus == EventStatus.UPCOMING) {
+            return scroll(cursor, size, (position, limit) -> eventRepository
+                    .findCardsByStatusOrderByDateTimeAscIdAsc(eventStatus, position, limit));
+        } else if (eventStatus != null) {
+            return scroll(cursor, size, (position, limit) -> eventRepository
+                    .findCardsByStatusOrderByDateTimeDescIdDesc(eventStatus, position, limit));
         }
-        return findAllEventsPage(pageable);
+        return findAllEventsPage(cursor, size);
     }
 
     /**
@@ -161,44 +425,182 @@ public class EventService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Event> findEventsByCategoryPage(String category, Pageable pageable) {
+    public CursorPage<EventCardView> findEventsByCategoryPage(String category, String cursor, int size) {
         if (category == null || category.trim().isEmpty() || "all".equalsIgnoreCase(category)) {
-            return findAllEventsPage(pageable);
+            return findAllEventsPage(cursor, size);
+        }
+        return scroll(cursor, size, (position, limit) -> eventRepository
+                .findCardsByCategoryOrderByDateTimeDescIdDesc(category, position, limit));
+    }
+
+    /**
+     * Number of events behind a dashboard listing, using the same filter
+     * precedence as the listings: category, then status. Served from
+     * {@link ListingTotalsCache}, so the count runs once per filter until the
+     * next event write. Search pages carry their own total.
+     */
+    @Transactional(readOnly = true)
+    public long countListing(String category, String status) {
+        if (category != null && !category.trim().isEmpty() && !"all".equalsIgnoreCase(category)) {
+            return listingTotals.get("category:" + category, () -> eventRepository.countByCategory(category));
+        }
+        EventStatus eventStatus = EventStatus.fromLabel(status);
+        if (eventStatus != null) {
+            return listingTotals.get("status:" + eventStatus, () -> eventRepository.countByStatus(eventStatus));
+        }
+        return listingTotals.get("all", eventRepository::count);
+    }
+
+    /**
+     * Runs one keyset query for the cursor and derives the cursors of the
+     * neighbouring pages from the first and last rows. A backward cursor that
+     * finds nothing (the rows before it were deleted) falls back to the first
+     * page.
+     */
+    private CursorPage<EventCardView> scroll(String cursor, int size,
+            BiFunction<ScrollPosition, Limit, Window<EventCardView>> query) {
+        Limit limit = Limit.of(Math.max(1, Math.min(size, appConfig.getPagination().getMaxPageSize())));
+        ScrollPosition position = EventCursor.decode(cursor);
+        boolean backward = position instanceof KeysetScrollPosition keyset && keyset.scrollsBackward();
+
+        Window<EventCardView> window = query.apply(position, limit);
+        if (backward && window.isEmpty()) {
+            position = ScrollPosition.keyset();
+            backward = false;
+            window = query.apply(position, limit);
+        }
+        if (window.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        boolean hasNext = backward || window.hasNext();
+        boolean hasPrevious = backward ? window.hasNext() : !position.isInitial();
+        String nextCursor = hasNext
+                ? EventCursor.encode(ScrollPosition.forward(keysAt(window, window.size() - 1)))
+                : null;
+        String previousCursor = hasPrevious
+                ? EventCursor.encode(ScrollPosition.backward(keysAt(window, 0)))
+                : null;
+        return new CursorPage<>(window.getContent(), nextCursor, previousCursor);
+    }
+
+    private static Map<String, ?> keysAt(Window<EventCardView> window, int index) {
+        return ((KeysetScrollPosition) window.positionAt(index)).getKeys();
+    }
+
+    /**
+     * Records an interest click. A user already known to be registered costs
+     * no query; otherwise the click is queued for the background writer when
+     * write-behind is on and has room, and written synchronously if not.
+     * Clicks on events with a capacity are always written synchronously, so
+     * the seat is confirmed before the user is sent on. A database failure
+     * is logged and the click dropped rather than failing the redirect.
+     *
+     * @param eventId event id
+     * @param userId  user id
+     * @return false if the event is full and the click was turned away
+     */
+    public boolean recordInterest(@NonNull Long eventId, @NonNull Long userId) {
+        if (interestMembership.isRegistered(eventId, userId)) {
+            return true;
+        }
+        if (!seatReservations.isLimited(eventId) && interestWriteBehind.offer(eventId, userId)) {
+            return true;
+        }
+        try {
+            return register(eventId, userId) != RegistrationOutcome.FULL;
+        } catch (DataAccessException e) {
+            // Analytics only: the user is sent on even if the click is lost
+            logger.error("Could not record interest (event:{}, user:{}): {}", eventId, userId, e.getMessage());
+            return true;
         }
-        return eventRepository.findByCategoryOrderByDateTimeDesc(category, pageable);
     }
 
     /**
      * Registers user interest in an event for analytics (status INTERESTED).
-     * No-op if a registration already exists for the user-event pair.
+     * A single {@code INSERT IGNORE} both checks for and creates the row, so a
+     * repeated click or an unknown event or user is a no-op. A transaction
+     * chosen as a deadlock victim is retried after a randomized backoff.
+     *
+     * <p>An event with a capacity admits first come, first served: a click on
+     * an event this node knows to be full is rejected before any transaction
+     * is opened unless the user already holds one of its seats, and the
+     * counter update only takes a seat while one is left, rolling the
+     * registration back otherwise.
      *
      * @param eventId event id
      * @param userId  user id
-     * @return true if created, false if already existed or invalid ids
+     * @return true if created, false if already existed, the event is full or
+     *         invalid ids
      */
-    @Transactional
     @CircuitBreaker(name = "registrationService", fallbackMethod = "registrationFallback")
     public boolean registerStudent(@NonNull Long eventId, @NonNull Long userId) {
-        // Just track unique interest/clicks for analytics
-        if (registrationRepository.existsByUserIdAndEventId(userId, eventId)) {
-            return false;
-        }
-
-        Event event = eventRepository.findById(eventId).orElse(null);
-        User user = userRepository.findById(userId).orElse(null);
+        return register(eventId, userId) == RegistrationOutcome.CREATED;
+    }
 
-        if (event == null || user == null) {
-            return false;
+    private RegistrationOutcome register(Long eventId, Long userId) {
+        if (!seatReservations.tryAcquire(eventId)) {
+            // A full event still has to recognise the users holding its seats
+            return registrationRepository.existsByUserIdAndEventId(userId, eventId)
+                    ? RegistrationOutcome.EXISTS
+                    : RegistrationOutcome.FULL;
+        }
+        RegistrationOutcome outcome = null;
+        try {
+            for (int attempt = 1;; attempt++) {
+                try {
+                    outcome = transactionTemplate.execute(status -> insertRegistration(eventId, userId, status));
+                    return outcome;
+                } catch (PessimisticLockingFailureException e) {
+                    if (attempt >= REGISTRATION_ATTEMPTS) {
+                        throw e;
+                    }
+                    logger.debug("Registration (event:{}, user:{}) lost a lock, retrying: {}", eventId, userId,
+                            e.getMessage());
+                    backOff(attempt, e);
+                }
+            }
+        } finally {
+            if (outcome == RegistrationOutcome.FULL) {
+                seatReservations.soldOut(eventId);
+            } else if (outcome != RegistrationOutcome.CREATED) {
+                seatReservations.release(eventId);
+            }
         }
+    }
 
-        Registration registration = new Registration();
-        registration.setUser(user);
-        registration.setEvent(event);
-        registration.setRegistrationDate(LocalDateTime.now());
-        registration.setStatus("INTERESTED"); // Changed from CONFIRMED
+    private RegistrationOutcome insertRegistration(Long eventId, Long userId, TransactionStatus status) {
+        LocalDateTime registeredAt = LocalDateTime.now();
+        Long registrationId = registrationWriter.insertIfAbsent(userId, eventId, registeredAt).orElse(null);
+        if (registrationId == null) {
+            return RegistrationOutcome.EXISTS;
+        }
+        if (registrationCounter.increment(eventId) == 0) {
+            // Every seat was taken, possibly on another node, since this one last looked
+            status.setRollbackOnly();
+            return RegistrationOutcome.FULL;
+        }
+        afterCommit(() -> {
+            dashboardStats.registrationAdded();
+            analytics.registrationAdded(eventId, registrationId, registeredAt);
+            interestMembership.registered(eventId, userId);
+        });
+        return RegistrationOutcome.CREATED;
+    }
 
-        registrationRepository.save(registration);
-        return true;
+    /**
+     * Sleeps a random time up to {@code REGISTRATION_BACKOFF_MILLIS} doubled
+     * per attempt, so clients that deadlocked on each other do not collide
+     * again in lockstep.
+     */
+    private static void backOff(int attempt, PessimisticLockingFailureException cause) {
+        long bound = REGISTRATION_BACKOFF_MILLIS << attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
     }
 
     /**
@@ -211,24 +613,35 @@ public class EventService {
     }
 
     /**
-     * Deletes an event and its registrations. Best-effort deletion of associated
-     * image file
-     * under the configured upload directory.
+     * Deletes an event together with its registrations and poster image.
      *
      * @param id event id
      */
     @Transactional
     public void deleteEvent(@NonNull Long id) {
-        // 1. Get event to find image path
         Event event = eventRepository.findById(id).orElse(null);
-        if (event != null && event.getImageUrl() != null) {
-            // No need to delete from filesystem anymore, DB handles it via Cascade if we
-            // used it,
-            // but here we just delete the event record.
+        // The cached entity may predate recent registrations; the column is current
+        long registrations = event != null ? eventRepository.findRegistrationCountById(id).orElse(0L) : 0;
+        if (event != null && event.isHasImage()) {
+            String digest = eventImageRepository.findContentDigestByEventId(id).orElse(null);
+            eventImageRepository.deleteById(id);
+            imageCache.invalidate(digest);
         }
 
         registrationRepository.deleteByEventId(id);
         eventRepository.deleteById(id);
+        invalidateListingTotals();
+        invalidateSnapshot(id);
+        afterCommit(() -> {
+            searchIndex.remove(id);
+            autocomplete.remove(id);
+            analytics.eventRemoved(id);
+            interestMembership.eventRemoved(id);
+            seatReservations.invalidate(id);
+            if (event != null) {
+                dashboardStats.eventRemoved(event.getCategory(), event.getStatus(), registrations);
+            }
+        });
         logger.warn("AUDIT: Event deleted (ID: {})", id);
     }
 
@@ -258,23 +671,23 @@ public class EventService {
     }
 
     /**
-     * Counts events strictly after now.
+     * Counts events that have not started yet.
      *
      * @return number of upcoming events
      */
     @Transactional(readOnly = true)
     public long getUpcomingEventsCount() {
-        return eventRepository.countByDateTimeAfter(LocalDateTime.now());
+        return eventRepository.countByStatus(EventStatus.UPCOMING);
     }
 
     /**
-     * Counts events currently happening (start <= now && end >= now).
+     * Counts events currently happening (started, end still ahead).
      *
      * @return number of ongoing events
      */
     @Transactional(readOnly = true)
     public long getOngoingEventsCount() {
-        return eventRepository.countOngoingEvents(LocalDateTime.now());
+        return eventRepository.countByStatus(EventStatus.ONGOING);
     }
 
     /**
@@ -283,33 +696,26 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public long getRegistrationCount(Long eventId) {
-        return registrationRepository.countByEventId(eventId);
+        if (analytics.isLoaded()) {
+            return analytics.interest(eventId);
+        }
+        return eventRepository.findRegistrationCountById(eventId).orElse(0L);
     }
 
     /**
-     * Builds a map of eventId -> registration count for the provided events.
-     * Initializes counts to zero then overlays results from an aggregate query.
+     * Builds a map of eventId -> registration count for the provided events
+     * from the counter each row carries.
      *
      * @param events list of events to get counts for
      * @return map of eventId -> registration count
      */
-    @Transactional(readOnly = true)
-    public Map<Long, Long> getRegistrationCountsMap(List<Event> events) {
+    public Map<Long, Long> getRegistrationCountsMap(List<? extends EventCardView> events) {
         Map<Long, Long> counts = new HashMap<>();
-        if (events == null || events.isEmpty())
+        if (events == null)
             return counts;
 
-        for (Event e : events) {
-            counts.put(e.getId(), 0L);
-        }
-
-        List<Object[]> results = registrationRepository.countRegistrationsGroupedByEvent();
-        for (Object[] row : results) {
-            Long eventId = (Long) row[0];
-            Long count = (Long) row[1];
-            if (counts.containsKey(eventId)) {
-                counts.put(eventId, count);
-            }
+        for (EventCardView e : events) {
+            counts.put(e.getId(), e.getRegistrationCount());
         }
         return counts;
     }
@@ -328,11 +734,11 @@ public class EventService {
     }
 
     /**
-     * @return count of events not considered upcoming (total - upcoming)
+     * @return count of events that have ended, or started without an end time
      */
     @Transactional(readOnly = true)
     public long getPastEventsCount() {
-        return eventRepository.countPastEvents(LocalDateTime.now());
+        return eventRepository.countByStatus(EventStatus.PAST);
     }
 
     /**
@@ -343,12 +749,18 @@ public class EventService {
     @Transactional(readOnly = true)
     public byte[] getAllEventsAsCsv() {
         List<Event> events = findAllEvents();
+        // Cached events carry the counter as it was when they were loaded
+        Map<Long, Long> counts = new HashMap<>();
+        if (!analytics.isLoaded()) {
+            for (Object[] row : eventRepository.findRegistrationCounts()) {
+                counts.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+        }
         StringBuilder csv = new StringBuilder();
         // Header
-        csv.append(
-                "ID,Title,Category,Venue,Start DateTime,End DateTime,Capacity,Registration Link,Responses Link,Status\n");
+        csv.append("ID,Title,Category,Venue,Start DateTime,End DateTime,Capacity,Registration Link,Responses Link,"
+                + "Status,Interested\n");
 
-        LocalDateTime now = LocalDateTime.now();
         for (Event event : events) {
             csv.append(event.getId()).append(",");
             csv.append(escapeCsv(event.getTitle())).append(",");
@@ -361,18 +773,11 @@ public class EventService {
             csv.append(event.getMaxCapacity() != null ? event.getMaxCapacity() : "Unlimited").append(",");
             csv.append(escapeCsv(event.getRegistrationLink())).append(",");
             csv.append(escapeCsv(event.getResponsesLink())).append(",");
-
-            String status;
-            if (start == null) {
-                status = "Unknown";
-            } else if (start.isAfter(now)) {
-                status = "Upcoming";
-            } else if (end != null && end.isAfter(now)) {
-                status = "Ongoing";
-            } else {
-                status = "Past";
-            }
-            csv.append(status).append("\n");
+            csv.append(event.getStatus() != null ? event.getStatus().getLabel() : "Unknown").append(",");
+            long interested = analytics.isLoaded()
+                    ? analytics.interest(event.getId())
+                    : counts.getOrDefault(event.getId(), 0L);
+            csv.append(interested).append("\n");
         }
         return csv.toString().getBytes(StandardCharsets.UTF_8);
     }
@@ -392,9 +797,13 @@ public class EventService {
     }
 
     /**
-     * Saves an uploaded image to the Event object (for DB storage), sanitizing the
-     * filename
-     * and checking for allowed extensions.
+     * Streams an uploaded image into the {@link ImageStore} and attaches it to
+     * the Event object, sanitizing the filename and checking for allowed
+     * extensions. The image row is written by {@link #saveEvent(Event)}.
+     *
+     * @return false if the file name or extension is not acceptable
+     * @throws ImageUploadRejectedException if the content is rejected by
+     *                                      {@link ImageUploadService}
      */
     public boolean saveUploadedImage(MultipartFile imageFile, String username, Event event) {
         String originalFilename = imageFile.getOriginalFilename();
@@ -415,15 +824,24 @@ public class EventService {
         }
 
         try {
-            event.setImageData(imageFile.getBytes());
-            event.setImageMimeType(imageFile.getContentType());
+            UploadedImage uploaded = imageUploadService.store(imageFile, ext);
+            imageVariantService.generateVariantsAsync(uploaded.getDigest());
+            // MIME type comes from the sniffed magic bytes, never from the client
+            EventImage image = new EventImage(event.getId(), null, uploaded.getType().getMimeType());
+            image.setContentDigest(uploaded.getDigest());
+            image.setContentLength(uploaded.getLength());
+            event.setPendingImage(image);
+            event.setHasImage(true);
             // We'll keep the imageUrl as a marker for now, or just set it to a special path
             // that our new controller will handle.
             event.setImageUrl("/api/public/events/image/" + UUID.randomUUID().toString()); // Placeholder to indicate
                                                                                            // image exists
 
-            auditLogger.logFileUpload(username, originalFilename, imageFile.getSize(), "SUCCESS (DB)");
+            auditLogger.logFileUpload(username, originalFilename, imageFile.getSize(), "SUCCESS");
             return true;
+        } catch (ImageUploadRejectedException e) {
+            auditLogger.logFileUpload(username, originalFilename, imageFile.getSize(), e.getReason());
+            throw e;
         } catch (Exception e) {
             auditLogger.logFileUpload(username, originalFilename, imageFile.getSize(), "ERROR: " + e.getMessage());
             logger.error("Failed to process uploaded image for user {}: {}", username, e.getMessage(), e);
@@ -437,4 +855,43 @@ public class EventService {
     public void deleteImageByUrl(String imageUrl) {
         // No-op for DB storage
     }
+
+    /**
+     * Clears the listing totals now and again after commit, so a count taken
+     * by a concurrent reader before the commit does not stay cached.
+     */
+    private void invalidateListingTotals() {
+        listingTotals.invalidateAll();
+        afterCommit(listingTotals::invalidateAll);
+    }
+
+    /**
+     * Drops the cached snapshot now and again after commit, for the same
+     * reason as {@link #invalidateListingTotals()}.
+     */
+    private void invalidateSnapshot(Long id) {
+        if (id == null) {
+            return;
+        }
+        snapshots.invalidate(id);
+        afterCommit(() -> snapshots.invalidate(id));
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or right away
+     * outside a transaction, so in-memory state never reflects a rolled-back
+     * write.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,50 @@
+package com.tejaswin.campus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.EventSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Event snapshots by ID for the public event page and the external
+ * registration redirect, so a shared link opened thousands of times loads the
+ * row once. Concurrent misses for one ID share a single load, and unknown IDs
+ * are cached too. {@link EventService} invalidates an entry on save and
+ * delete; entries also expire after {@code app.event-cache.ttl-seconds} as a
+ * backstop for writes made by other instances. Hit, miss and load-time
+ * figures are published as the {@code eventSnapshots} cache metrics.
+ */
+@Component
+public class EventSnapshotCache {
+
+    private final Cache<Long, Optional<EventSnapshot>> cache;
+
+    public EventSnapshotCache(AppConfig appConfig, MeterRegistry meterRegistry) {
+        AppConfig.EventCache config = appConfig.getEventCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventSnapshots");
+    }
+
+    /**
+     * @return cached snapshot, loading it once on a miss; null if there is no
+     *         such event
+     */
+    public EventSnapshot get(Long id, Function<Long, EventSnapshot> loader) {
+        return cache.get(id, key -> Optional.ofNullable(loader.apply(key))).orElse(null);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+}
@@ -0,0 +1,148 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code events.status} current. The start and end times falling within
+ * the next {@code app.status-scheduler.horizon-minutes} sit in a
+ * {@link TimingWheel}; when one falls due, two bulk updates move every event
+ * whose time has come from UPCOMING to ONGOING or PAST. The updates are
+ * idempotent, so a stale entry for an edited or deleted event only costs an
+ * empty sweep, and several application instances may run them side by side.
+ *
+ * <p>The wheel is rebuilt from the database every half horizon, which also
+ * picks up events saved on other instances and times beyond the horizon.
+ */
+@Component
+public class EventStatusScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStatusScheduler.class);
+
+    private final EventRepository eventRepository;
+    private final ListingTotalsCache listingTotals;
+    private final DashboardStatsService dashboardStats;
+    private final AppConfig.StatusScheduler config;
+    private final ScheduledExecutorService executor;
+
+    // Confined to the executor thread
+    private TimingWheel wheel;
+    private LocalDateTime horizon;
+
+    public EventStatusScheduler(EventRepository eventRepository, ListingTotalsCache listingTotals,
+            DashboardStatsService dashboardStats, AppConfig appConfig) {
+        this.eventRepository = eventRepository;
+        this.listingTotals = listingTotals;
+        this.dashboardStats = dashboardStats;
+        this.config = appConfig.getStatusScheduler();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-status");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long refillMinutes = Math.max(1, config.getHorizonMinutes() / 2);
+        executor.scheduleWithFixedDelay(guarded(this::refill), 0, refillMinutes, TimeUnit.MINUTES);
+        executor.scheduleAtFixedRate(guarded(this::tick), config.getTickMillis(), config.getTickMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the start and end of a saved event. Call after the save has
+     * committed; times beyond the horizon are left to the next rebuild.
+     */
+    public void schedule(Event event) {
+        LocalDateTime start = event.getDateTime();
+        LocalDateTime end = event.getEndDateTime();
+        try {
+            executor.execute(guarded(() -> {
+                add(start);
+                add(end);
+            }));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Moves every event whose start or end has passed to its current status.
+     *
+     * @return number of events whose status changed
+     */
+    int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int started = eventRepository.markStarted(now);
+        int ended = eventRepository.markEnded(now);
+        if (started + ended > 0) {
+            listingTotals.invalidateAll();
+            dashboardStats.invalidate();
+            logger.info("Event status: {} started, {} ended", started, ended);
+        }
+        return started + ended;
+    }
+
+    private void tick() {
+        if (wheel != null && wheel.advance(System.currentTimeMillis()) > 0) {
+            sweep();
+        }
+    }
+
+    private void refill() {
+        sweep();
+        LocalDateTime now = LocalDateTime.now();
+        horizon = now.plusMinutes(config.getHorizonMinutes());
+        wheel = new TimingWheel(config.getTickMillis(), config.getWheelSize(), toMillis(now));
+        eventRepository.findStartsBetween(now, horizon).forEach(this::add);
+        eventRepository.findEndsBetween(now, horizon).forEach(this::add);
+        logger.debug("Event status wheel rebuilt: {} transitions until {}", wheel.pending(), horizon);
+    }
+
+    private void add(LocalDateTime due) {
+        if (wheel == null || due == null || due.isAfter(horizon)) {
+            return;
+        }
+        if (!wheel.schedule(toMillis(due))) {
+            sweep();
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** A periodic task that throws is never run again, so failures are only logged. */
+    private static Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (DataAccessException e) {
+                logger.warn("Event status update failed: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Event status scheduler error", e);
+            }
+        };
+    }
+}
@@ -0,0 +1,429 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.storage.ImageStore;
+import com.tejaswin.campus.storage.StoredImage;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves image blobs still held in the database ({@code events.image_data} and
+ * legacy {@code event_images.image_data} rows) into the {@link ImageStore}.
+ *
+ * <p>
+ * Rows are walked in primary-key order in small batches: the files are written
+ * first, then a short transaction repoints each row at its digest, nulls the
+ * blob columns and advances the checkpoint. A restart resumes after the last
+ * committed batch, and a token bucket keeps the job at the configured rows per
+ * second so it can run next to live traffic. The rows are written over plain
+ * JDBC, so the cached {@code Event} entities and {@link EventSnapshotCache}
+ * entries of each batch are dropped once it commits.
+ */
+@Service
+public class ImageMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageMigrationService.class);
+
+    static final String JOB_NAME = "legacy-image-blobs";
+
+    private static final String SELECT_BATCH = "SELECT e.id FROM events e "
+            + "LEFT JOIN event_images i ON i.event_id = e.id "
+            + "WHERE e.id > ? AND (e.image_data IS NOT NULL OR i.image_data IS NOT NULL) "
+            + "ORDER BY e.id LIMIT ?";
+
+    private static final String COUNT_PENDING = "SELECT COUNT(*) FROM events e "
+            + "LEFT JOIN event_images i ON i.event_id = e.id "
+            + "WHERE e.id > ? AND (e.image_data IS NOT NULL OR i.image_data IS NOT NULL)";
+
+    public enum Status {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageStore imageStore;
+    private final ImageVariantService imageVariantService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EventSnapshotCache snapshots;
+    private final AppConfig.ImageMigration config;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopRequested;
+    private volatile long pendingAtStart = -1;
+    private volatile long migratedThisRun;
+
+    public ImageMigrationService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ImageStore imageStore, ImageVariantService imageVariantService, EntityManagerFactory entityManagerFactory,
+            EventSnapshotCache snapshots, AppConfig appConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.imageStore = imageStore;
+        this.imageVariantService = imageVariantService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.snapshots = snapshots;
+        this.config = appConfig.getImageMigration();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "image-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Picks an interrupted run back up. The checkpoint stays RUNNING when the
+     * application stops mid-way, so seeing it here means the last run never
+     * finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (!config.isAutoResume()) {
+            return;
+        }
+        Checkpoint checkpoint;
+        try {
+            checkpoint = readCheckpoint();
+        } catch (DataAccessException e) {
+            // Schema not managed by Flyway here; nothing to resume
+            logger.warn("Image migration checkpoint unavailable: {}", e.getMessage());
+            return;
+        }
+        if (checkpoint.status == Status.RUNNING) {
+            logger.info("Resuming image migration after event ID {}", checkpoint.lastEventId);
+            start();
+        }
+    }
+
+    /**
+     * Starts the migration in the background.
+     *
+     * @return false if a run is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        stopRequested = false;
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Progress getProgress() {
+        Checkpoint checkpoint = readCheckpoint();
+        long remaining = pendingAtStart < 0 ? -1 : Math.max(0, pendingAtStart - migratedThisRun);
+        if (checkpoint.status == Status.COMPLETED) {
+            remaining = 0;
+        }
+        return new Progress(checkpoint.status, running.get(), checkpoint.lastEventId, checkpoint.migratedRows,
+                remaining, config.getRowsPerSecond(), checkpoint.startedAt, checkpoint.updatedAt,
+                checkpoint.lastError);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // The checkpoint is left RUNNING on purpose so the next start resumes.
+        stopRequested = true;
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void run() {
+        try {
+            long lastId = markRunning();
+            migratedThisRun = 0;
+            pendingAtStart = countPending(lastId);
+            logger.info("AUDIT: Image migration started after event ID {} ({} rows pending)", lastId,
+                    pendingAtStart);
+
+            int batchSize = Math.max(1, config.getBatchSize());
+            Bucket throttle = newThrottle(batchSize);
+            while (!stopRequested) {
+                List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH, Long.class, lastId, batchSize);
+                if (ids.isEmpty()) {
+                    finish();
+                    return;
+                }
+                throttle.asBlocking().consume(ids.size());
+                lastId = migrateBatch(ids);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Image migration interrupted; it will resume from its checkpoint");
+        } catch (Exception e) {
+            logger.error("Image migration failed: {}", e.getMessage(), e);
+            recordFailure(e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Migrates one batch and returns the keyset position to continue from.
+     */
+    long migrateBatch(List<Long> ids) throws IOException {
+        List<MigratedImage> images = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MigratedImage image = copyToStore(id);
+            if (image != null) {
+                images.add(image);
+            }
+        }
+        long lastId = ids.get(ids.size() - 1);
+
+        List<String> superseded = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (MigratedImage image : images) {
+                if (!repoint(image)) {
+                    superseded.add(image.stored.getDigest());
+                }
+                jdbcTemplate.update("UPDATE events SET image_data = NULL, image_mime_type = NULL WHERE id = ?",
+                        image.eventId);
+            }
+            jdbcTemplate.update("UPDATE image_migration_checkpoint SET last_event_id = ?, "
+                    + "migrated_rows = migrated_rows + ?, updated_at = ? WHERE job_name = ?",
+                    lastId, images.size(), Timestamp.valueOf(LocalDateTime.now()), JOB_NAME);
+        });
+        migratedThisRun += images.size();
+
+        for (MigratedImage image : images) {
+            entityManagerFactory.getCache().evict(Event.class, image.eventId);
+            snapshots.invalidate(image.eventId);
+            if (!superseded.contains(image.stored.getDigest())) {
+                imageVariantService.generateVariantsAsync(image.stored.getDigest());
+            }
+        }
+        return lastId;
+    }
+
+    private MigratedImage copyToStore(Long eventId) throws IOException {
+        try {
+            return jdbcTemplate.query("SELECT COALESCE(i.image_data, e.image_data) AS data, "
+                    + "COALESCE(i.mime_type, e.image_mime_type) AS mime, i.event_id IS NOT NULL AS has_row "
+                    + "FROM events e LEFT JOIN event_images i ON i.event_id = e.id WHERE e.id = ?", rs -> {
+                        if (!rs.next()) {
+                            return null;
+                        }
+                        try (InputStream data = rs.getBinaryStream("data")) {
+                            if (data == null) {
+                                return null;
+                            }
+                            StoredImage stored = imageStore.store(data);
+                            return new MigratedImage(eventId, stored, rs.getString("mime"),
+                                    rs.getBoolean("has_row"));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, eventId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Points the event's image row at the stored file. Rows whose blob was
+     * replaced by a fresh upload while the file was being written are left
+     * alone.
+     *
+     * @return false if the row no longer wanted this image
+     */
+    private boolean repoint(MigratedImage image) {
+        if (image.hasImageRow) {
+            return jdbcTemplate.update("UPDATE event_images SET image_data = NULL, content_digest = ?, "
+                    + "content_length = ? WHERE event_id = ? AND image_data IS NOT NULL",
+                    image.stored.getDigest(), image.stored.getLength(), image.eventId) > 0;
+        }
+        int inserted = jdbcTemplate.update("INSERT IGNORE INTO event_images "
+                + "(event_id, content_digest, content_length, mime_type) SELECT id, ?, ?, ? FROM events WHERE id = ?",
+                image.stored.getDigest(), image.stored.getLength(), image.mimeType, image.eventId);
+        if (inserted > 0) {
+            jdbcTemplate.update("UPDATE events SET has_image = TRUE WHERE id = ?", image.eventId);
+        }
+        return inserted > 0;
+    }
+
+    private Bucket newThrottle(int batchSize) {
+        int rate = Math.max(1, config.getRowsPerSecond());
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(Math.max(rate, batchSize))
+                .refillGreedy(rate, Duration.ofSeconds(1))
+                .initialTokens(Math.min(rate, batchSize))
+                .build();
+        return Bucket.builder().addLimit(limit).build();
+    }
+
+    private long countPending(long afterId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING, Long.class, afterId);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Flags the checkpoint as running and returns the id to continue after. A
+     * completed job starts over, which only finds rows written since.
+     */
+    private long markRunning() {
+        Checkpoint checkpoint = readCheckpoint();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (checkpoint.status == Status.RUNNING || checkpoint.status == Status.FAILED) {
+            jdbcTemplate.update("UPDATE image_migration_checkpoint SET status = ?, last_error = NULL, "
+                    + "updated_at = ? WHERE job_name = ?", Status.RUNNING.name(), now, JOB_NAME);
+            return checkpoint.lastEventId;
+        }
+        jdbcTemplate.update("UPDATE image_migration_checkpoint SET status = ?, last_event_id = 0, migrated_rows = 0, "
+                + "last_error = NULL, started_at = ?, updated_at = ? WHERE job_name = ?",
+                Status.RUNNING.name(), now, now, JOB_NAME);
+        return 0;
+    }
+
+    private void finish() {
+        jdbcTemplate.update("UPDATE image_migration_checkpoint SET status = ?, updated_at = ? WHERE job_name = ?",
+                Status.COMPLETED.name(), Timestamp.valueOf(LocalDateTime.now()), JOB_NAME);
+        logger.info("AUDIT: Image migration completed ({} rows this run). "
+                + "Run OPTIMIZE TABLE events, event_images during a quiet period to return the freed pages.",
+                migratedThisRun);
+    }
+
+    private void recordFailure(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        try {
+            jdbcTemplate.update("UPDATE image_migration_checkpoint SET status = ?, last_error = ?, updated_at = ? "
+                    + "WHERE job_name = ?", Status.FAILED.name(), message,
+                    Timestamp.valueOf(LocalDateTime.now()), JOB_NAME);
+        } catch (Exception ex) {
+            logger.warn("Could not record image migration failure: {}", ex.getMessage());
+        }
+    }
+
+    private Checkpoint readCheckpoint() {
+        try {
+            return jdbcTemplate.queryForObject("SELECT status, last_event_id, migrated_rows, last_error, "
+                    + "started_at, updated_at FROM image_migration_checkpoint WHERE job_name = ?",
+                    (rs, rowNum) -> new Checkpoint(Status.valueOf(rs.getString("status")),
+                            rs.getLong("last_event_id"), rs.getLong("migrated_rows"), rs.getString("last_error"),
+                            toLocalDateTime(rs.getTimestamp("started_at")),
+                            toLocalDateTime(rs.getTimestamp("updated_at"))),
+                    JOB_NAME);
+        } catch (EmptyResultDataAccessException e) {
+            jdbcTemplate.update("INSERT INTO image_migration_checkpoint (job_name, status) VALUES (?, ?)",
+                    JOB_NAME, Status.IDLE.name());
+            return new Checkpoint(Status.IDLE, 0, 0, null, null, null);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record Checkpoint(Status status, long lastEventId, long migratedRows, String lastError,
+            LocalDateTime startedAt, LocalDateTime updatedAt) {
+    }
+
+    private record MigratedImage(Long eventId, StoredImage stored, String mimeType, boolean hasImageRow) {
+    }
+
+    /**
+     * Snapshot reported by the {@code imagemigration} actuator endpoint.
+     * remainingRows is -1 until a run has counted its backlog.
+     */
+    public static final class Progress {
+        private final Status status;
+        private final boolean running;
+        private final long lastEventId;
+        private final long migratedRows;
+        private final long remainingRows;
+        private final int rowsPerSecond;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime updatedAt;
+        private final String lastError;
+
+        Progress(Status status, boolean running, long lastEventId, long migratedRows, long remainingRows,
+                int rowsPerSecond, LocalDateTime startedAt, LocalDateTime updatedAt, String lastError) {
+            this.status = status;
+            this.running = running;
+            this.lastEventId = lastEventId;
+            this.migratedRows = migratedRows;
+            this.remainingRows = remainingRows;
+            this.rowsPerSecond = rowsPerSecond;
+            this.startedAt = startedAt;
+            this.updatedAt = updatedAt;
+            this.lastError = lastError;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isRunning() {
+            return running;
+        }
+
+        public long getLastEventId() {
+            return lastEventId;
+        }
+
+        public long getMigratedRows() {
+            return migratedRows;
+        }
+
+        public long getRemainingRows() {
+            return remainingRows;
+        }
+
+        public int getRowsPerSecond() {
+            return rowsPerSecond;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.repository.EventImageRepository;
+import com.tejaswin.campus.storage.ImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes stored images that no event references. Replacing or deleting a
+ * poster, a save that rolls back and a migrated blob whose row was replaced
+ * meanwhile all leave content behind; none of them deletes it directly,
+ * because an upload of the same poster for another event may be about to
+ * reference it. Every {@code app.image-sweep.interval-minutes} content not
+ * stored again for {@code grace-minutes} is re-checked against
+ * {@code event_images} and removed if still unreferenced.
+ */
+@Component
+public class ImageSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageSweeper.class);
+
+    private final ImageStore imageStore;
+    private final EventImageRepository eventImageRepository;
+    private final AppConfig.ImageSweep config;
+    private final Clock clock;
+
+    @Autowired
+    public ImageSweeper(ImageStore imageStore, EventImageRepository eventImageRepository, AppConfig appConfig) {
+        this(imageStore, eventImageRepository, appConfig, Clock.systemUTC());
+    }
+
+    ImageSweeper(ImageStore imageStore, EventImageRepository eventImageRepository, AppConfig appConfig,
+            Clock clock) {
+        this.imageStore = imageStore;
+        this.eventImageRepository = eventImageRepository;
+        this.config = appConfig.getImageSweep();
+        this.clock = clock;
+    }
+
+    /** Failures other than storage and database ones are logged by the scheduler, which keeps the schedule. */
+    @Scheduled(initialDelayString = "${app.image-sweep.interval-minutes:60}",
+            fixedDelayString = "${app.image-sweep.interval-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (IOException | DataAccessException e) {
+            logger.warn("Image sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of images removed
+     */
+    public int sweep() throws IOException {
+        Instant cutoff = clock.instant().minus(Duration.ofMinutes(Math.max(1, config.getGraceMinutes())));
+        int removed = imageStore.deleteUnused(cutoff, digest -> eventImageRepository.countByContentDigest(digest) > 0);
+        if (removed > 0) {
+            logger.info("Removed {} unreferenced stored images", removed);
+        }
+        return removed;
+    }
+}
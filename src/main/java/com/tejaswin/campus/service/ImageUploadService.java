@@ -0,0 +1,109 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.exception.ImageUploadRejectedException;
+import com.tejaswin.campus.storage.ImageStore;
+import com.tejaswin.campus.storage.ImageType;
+import com.tejaswin.campus.storage.SizeLimitedInputStream;
+import com.tejaswin.campus.storage.StoredImage;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams an uploaded image into the {@link ImageStore} without holding it on
+ * the heap: the multipart part (already spooled to disk by the container) is
+ * sniffed for its magic bytes, size-limited and digested on the way into the
+ * store. A semaphore caps how many uploads are processed at once so bulk
+ * uploads cannot starve student traffic.
+ */
+@Service
+public class ImageUploadService {
+
+    private final ImageStore imageStore;
+    private final AppConfig.ImageUpload config;
+    private final Semaphore permits;
+
+    public ImageUploadService(ImageStore imageStore, AppConfig appConfig) {
+        this.imageStore = imageStore;
+        this.config = appConfig.getImageUpload();
+        this.permits = new Semaphore(config.getMaxConcurrent(), true);
+    }
+
+    /**
+     * @param imageFile uploaded part
+     * @param extension lower-case extension of the sanitized file name, e.g. ".png"
+     * @return stored content and its detected type
+     * @throws ImageUploadRejectedException if the upload is too large, does not
+     *                                      match its extension, or the server is busy
+     */
+    public UploadedImage store(MultipartFile imageFile, String extension) throws IOException {
+        if (imageFile.getSize() > config.getMaxBytes()) {
+            throw tooLarge();
+        }
+        acquirePermit();
+        try (InputStream in = new BufferedInputStream(imageFile.getInputStream())) {
+            in.mark(ImageType.HEADER_LENGTH);
+            byte[] header = in.readNBytes(ImageType.HEADER_LENGTH);
+            in.reset();
+
+            ImageType type = ImageType.detect(header, header.length);
+            if (type == null || !type.matchesExtension(extension)) {
+                throw new ImageUploadRejectedException("REJECTED_CONTENT_MISMATCH",
+                        "Image content does not match its file extension. Allowed: JPG, PNG, WebP, GIF.");
+            }
+
+            StoredImage stored = imageStore.store(new SizeLimitedInputStream(in, config.getMaxBytes()));
+            return new UploadedImage(stored, type);
+        } catch (SizeLimitedInputStream.LimitExceededException e) {
+            throw tooLarge();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit() {
+        try {
+            if (permits.tryAcquire(config.getAcquireTimeoutSeconds(), TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new ImageUploadRejectedException("REJECTED_BUSY",
+                "Too many image uploads in progress. Please try again shortly.");
+    }
+
+    private ImageUploadRejectedException tooLarge() {
+        return new ImageUploadRejectedException("REJECTED_TOO_LARGE",
+                "File is too large! Please upload a smaller file.");
+    }
+
+    public static class UploadedImage {
+
+        private final StoredImage stored;
+        private final ImageType type;
+
+        public UploadedImage(StoredImage stored, ImageType type) {
+            this.stored = stored;
+            this.type = type;
+        }
+
+        public String getDigest() {
+            return stored.getDigest();
+        }
+
+        public long getLength() {
+            return stored.getLength();
+        }
+
+        public ImageType getType() {
+            return type;
+        }
+    }
+}
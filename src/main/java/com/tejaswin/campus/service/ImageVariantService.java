@@ -0,0 +1,199 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.storage.ImageStore;
+import com.tejaswin.campus.storage.ImageVariant;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link ImageVariant} renditions of uploaded images on a small
+ * bounded background pool. Until a variant exists the original is served in
+ * its place, so a full queue only costs bandwidth, never correctness.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final ImageStore imageStore;
+    private final AppConfig.ImageVariants config;
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantService(ImageStore imageStore, AppConfig appConfig) {
+        this.imageStore = imageStore;
+        this.config = appConfig.getImageVariants();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues variant generation for stored content. Returns immediately.
+     *
+     * @param digest content digest in the {@link ImageStore}
+     */
+    public void generateVariantsAsync(String digest) {
+        try {
+            executor.execute(() -> generateVariants(digest));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Image variant queue full, serving original for {}", digest);
+        }
+    }
+
+    /**
+     * Generates all variants for stored content on the calling thread.
+     * Formats ImageIO cannot decode (e.g. WebP) are skipped.
+     *
+     * @param digest content digest in the {@link ImageStore}
+     */
+    public void generateVariants(String digest) {
+        Resource original = imageStore.load(digest);
+        if (original == null) {
+            return;
+        }
+        try {
+            BufferedImage source = decode(original);
+            if (source == null) {
+                logger.debug("No variants for {}: format not decodable or image too large", digest);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                byte[] encoded = encodeJpeg(render(source, variant));
+                imageStore.storeVariant(digest, variant, new ByteArrayInputStream(encoded));
+            }
+            logger.debug("Generated image variants for {}", digest);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to generate image variants for {}: {}", digest, e.getMessage());
+        }
+    }
+
+    private BufferedImage decode(Resource original) throws IOException {
+        try (InputStream in = original.getInputStream();
+                ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            if (imageIn == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                // Check the header before decoding so a tiny file cannot expand into gigabytes of pixels
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > config.getMaxSourcePixels()) {
+                    return null;
+                }
+                int step = subsampling(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Largest whole step at which every pixel row and column read still
+     * leaves the decoded image at least twice the size of every variant
+     * rendered from it, so a large photo is never held at full resolution
+     * and the final bicubic downscale still has detail to average.
+     */
+    static int subsampling(int width, int height) {
+        double largestScale = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            double widthScale = (double) variant.getWidth() / width;
+            double heightScale = (double) variant.getHeight() / height;
+            double scale = variant.isCrop() ? Math.max(widthScale, heightScale) : Math.min(widthScale, heightScale);
+            largestScale = Math.max(largestScale, scale);
+        }
+        return Math.max(1, (int) (1 / (2 * largestScale)));
+    }
+
+    static BufferedImage render(BufferedImage source, ImageVariant variant) {
+        int srcWidth = source.getWidth();
+        int srcHeight = source.getHeight();
+        double scale = variant.isCrop()
+                ? Math.max((double) variant.getWidth() / srcWidth, (double) variant.getHeight() / srcHeight)
+                : Math.min((double) variant.getWidth() / srcWidth, (double) variant.getHeight() / srcHeight);
+        scale = Math.min(scale, 1.0); // never upscale
+
+        int scaledWidth = Math.max(1, (int) Math.round(srcWidth * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(srcHeight * scale));
+        int outWidth = variant.isCrop() ? Math.min(scaledWidth, variant.getWidth()) : scaledWidth;
+        int outHeight = variant.isCrop() ? Math.min(scaledHeight, variant.getHeight()) : scaledHeight;
+
+        BufferedImage out = new BufferedImage(outWidth, outHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE); // JPEG has no alpha channel
+            g.fillRect(0, 0, outWidth, outHeight);
+            int x = (outWidth - scaledWidth) / 2;
+            int y = (outHeight - scaledHeight) / 2;
+            g.drawImage(source, x, y, scaledWidth, scaledHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(config.getJpegQuality());
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
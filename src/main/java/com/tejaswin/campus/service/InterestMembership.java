@@ -0,0 +1,170 @@
+package com.tejaswin.campus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Which users are registered for which event, as one compressed bitmap of
+ * user IDs per event, so a repeat click is recognised without a query.
+ *
+ * <p>Only ever answers "registered" for a registration that has committed:
+ * users are added after commit, and a bitmap is loaded from the table, so a
+ * registration the bitmap has not seen yet only costs the usual
+ * {@code INSERT IGNORE}. The one exception is a deleted user, whose
+ * registrations go by {@code ON DELETE CASCADE}: they stay in the bitmap
+ * until {@link RegistrationCountReconciler} finds the event's count off and
+ * drops it. Bitmaps of events that are not over are loaded at startup;
+ * others are loaded with one indexed query the first time they are asked
+ * for. All bitmaps together are held to
+ * {@code app.interest-membership.max-bytes}, least recently used evicted first.
+ * User IDs above 2^32 - 1 are never tracked.
+ */
+@Component
+public class InterestMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestMembership.class);
+
+    /** Bytes charged for a bitmap besides its own, so empty ones are not free. */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxBytes;
+    private final Cache<Long, Members> members;
+
+    public InterestMembership(JdbcTemplate jdbcTemplate, AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBytes = Math.max(0, appConfig.getInterestMembership().getMaxBytes());
+        this.members = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long eventId, Members m) -> m.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "interestMembership");
+    }
+
+    /**
+     * Loads the bitmaps of upcoming and ongoing events, the ones still being
+     * clicked, until the byte budget is used up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        Members[] current = { null };
+        long[] currentEvent = { -1 };
+        long[] used = { 0 };
+        try {
+            StreamingQueries.stream(jdbcTemplate, "SELECT r.event_id, r.user_id FROM registrations r "
+                    + "JOIN events e ON e.id = r.event_id WHERE e.status <> 'PAST' ORDER BY r.event_id", rs -> {
+                        long eventId = rs.getLong(1);
+                        if (eventId != currentEvent[0]) {
+                            used[0] += put(currentEvent[0], current[0]);
+                            currentEvent[0] = eventId;
+                            current[0] = used[0] < maxBytes ? new Members() : null;
+                        }
+                        if (current[0] != null) {
+                            current[0].add(rs.getLong(2));
+                        }
+                    });
+            used[0] += put(currentEvent[0], current[0]);
+        } catch (DataAccessException e) {
+            logger.warn("Interest membership not warmed, bitmaps load on demand: {}", e.getMessage());
+            return;
+        }
+        logger.info("Interest membership warmed: {} events, {} bytes", members.estimatedSize(), used[0]);
+    }
+
+    /**
+     * @return true only if the user is known to be registered for the event;
+     *         false means "not known", not "not registered"
+     */
+    public boolean isRegistered(Long eventId, Long userId) {
+        if (eventId == null || !trackable(userId)) {
+            return false;
+        }
+        try {
+            return members.get(eventId, this::load).contains(userId);
+        } catch (DataAccessException e) {
+            logger.debug("Interest membership of event {} unavailable: {}", eventId, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Call after the registration has committed. */
+    public void registered(Long eventId, Long userId) {
+        if (eventId == null || !trackable(userId)) {
+            return;
+        }
+        // Computing re-weighs the entry; a bitmap not in memory is loaded complete when next asked for
+        members.asMap().computeIfPresent(eventId, (id, m) -> {
+            m.add(userId);
+            return m;
+        });
+    }
+
+    /** Call after the delete has committed. */
+    public void eventRemoved(Long eventId) {
+        members.invalidate(eventId);
+    }
+
+    /** Drops the event's bitmap, to be loaded again from the table when next asked for. */
+    public void invalidate(Long eventId) {
+        members.invalidate(eventId);
+    }
+
+    private Members load(Long eventId) {
+        Members loaded = new Members();
+        jdbcTemplate.query("SELECT user_id FROM registrations WHERE event_id = ?",
+                (RowCallbackHandler) rs -> loaded.add(rs.getLong(1)), eventId);
+        loaded.optimize();
+        return loaded;
+    }
+
+    private long put(long eventId, Members loaded) {
+        if (loaded == null) {
+            return 0;
+        }
+        loaded.optimize();
+        members.asMap().putIfAbsent(eventId, loaded);
+        return loaded.weight();
+    }
+
+    private static boolean trackable(Long userId) {
+        return userId != null && userId >= 0 && userId <= 0xFFFFFFFFL;
+    }
+
+    /** A bitmap of user IDs, read and written under its own monitor. */
+    private static final class Members {
+
+        private final RoaringBitmap users = new RoaringBitmap();
+
+        synchronized boolean contains(long userId) {
+            return users.contains((int) userId);
+        }
+
+        synchronized void add(long userId) {
+            if (trackable(userId)) {
+                users.add((int) userId);
+            }
+        }
+
+        synchronized void optimize() {
+            users.runOptimize();
+        }
+
+        synchronized int weight() {
+            return ENTRY_OVERHEAD + users.getSizeInBytes();
+        }
+    }
+}
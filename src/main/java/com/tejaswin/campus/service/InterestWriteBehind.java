@@ -0,0 +1,313 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.repository.RegistrationCounter;
+import com.tejaswin.campus.repository.RegistrationWriter;
+import com.tejaswin.campus.repository.RegistrationWriter.PendingRegistration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional write-behind path for interest clicks
+ * ({@code app.interest-writes.write-behind}). A click is put on a bounded,
+ * lock-free queue and the redirect is sent straight away; a background writer
+ * flushes the queue every {@code flush-interval-millis}, or as soon as
+ * {@code batch-size} clicks are waiting, with one lookup of the pairs already
+ * registered and one multi-row insert per batch.
+ *
+ * <p>A user and event pair waits in the queue at most once, so repeated clicks
+ * before a flush cost nothing. Queued clicks are written on shutdown, which
+ * with {@code server.shutdown=graceful} runs after the last request has been
+ * served; clicks still queued when the process dies are lost, which is the
+ * price of not waiting for the database.
+ */
+@Component
+public class InterestWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestWriteBehind.class);
+
+    private record Key(long userId, long eventId) {
+    }
+
+    /** A click written, with the ID of its row. */
+    private record Created(PendingRegistration registration, long id) {
+    }
+
+    private final RegistrationWriter registrationWriter;
+    private final RegistrationCounter registrationCounter;
+    private final DashboardStatsService dashboardStats;
+    private final RegistrationAnalytics analytics;
+    private final InterestMembership membership;
+    private final SeatReservations seatReservations;
+    private final TransactionTemplate transactionTemplate;
+    private final AppConfig.InterestWrites config;
+    private final Queue<PendingRegistration> queue = new ConcurrentLinkedQueue<>();
+    private final Set<Key> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter dropped;
+    private final ScheduledExecutorService executor;
+    private volatile boolean accepting = true;
+
+    public InterestWriteBehind(RegistrationWriter registrationWriter, RegistrationCounter registrationCounter,
+            DashboardStatsService dashboardStats, RegistrationAnalytics analytics, InterestMembership membership,
+            SeatReservations seatReservations, PlatformTransactionManager transactionManager, AppConfig appConfig,
+            MeterRegistry meterRegistry) {
+        this.registrationWriter = registrationWriter;
+        this.registrationCounter = registrationCounter;
+        this.dashboardStats = dashboardStats;
+        this.analytics = analytics;
+        this.membership = membership;
+        this.seatReservations = seatReservations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = appConfig.getInterestWrites();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "interest-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("interest.writes.queued", size, AtomicInteger::get)
+                .description("Interest clicks waiting to be written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("interest.writes.dropped")
+                .description("Interest clicks discarded because the queue was full or the write failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (config.isWriteBehind()) {
+            long millis = Math.max(1, config.getFlushIntervalMillis());
+            executor.scheduleWithFixedDelay(this::flushGuarded, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops taking clicks and writes the ones still queued, for at most
+     * {@code app.interest-writes.shutdown-timeout-seconds}.
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        executor.shutdown();
+        long timeout = TimeUnit.SECONDS.toNanos(Math.max(0, config.getShutdownTimeoutSeconds()));
+        long deadline = System.nanoTime() + timeout;
+        try {
+            executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int written = flush(deadline, true);
+        if (written > 0) {
+            logger.info("Wrote {} queued interest clicks on shutdown", written);
+        }
+        if (size.get() > 0) {
+            logger.warn("{} interest clicks were still queued at shutdown and are lost", size.get());
+        }
+    }
+
+    /**
+     * Queues a click for the background writer.
+     *
+     * @return false if the caller has to write it synchronously: write-behind
+     *         is off or stopped, or the queue is full and durability is
+     *         {@code WRITE_THROUGH}
+     */
+    public boolean offer(Long eventId, Long userId) {
+        if (!config.isWriteBehind() || !accepting) {
+            return false;
+        }
+        Key key = new Key(userId, eventId);
+        if (!queued.add(key)) {
+            return true;
+        }
+        if (size.incrementAndGet() > config.getQueueCapacity()) {
+            size.decrementAndGet();
+            queued.remove(key);
+            if (config.getDurability() == AppConfig.InterestWrites.Durability.DROP) {
+                dropped.increment();
+                return true;
+            }
+            return false;
+        }
+        queue.offer(new PendingRegistration(userId, eventId, LocalDateTime.now()));
+        if (size.get() >= config.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flushGuarded);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush picks it up
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes every queued click.
+     *
+     * @return number of registrations created
+     */
+    public int flush() {
+        return flush(0, false);
+    }
+
+    public int queued() {
+        return size.get();
+    }
+
+    private synchronized int flush(long deadline, boolean timed) {
+        flushRequested.set(false);
+        int created = 0;
+        List<PendingRegistration> batch;
+        while ((!timed || System.nanoTime() - deadline < 0) && !(batch = poll()).isEmpty()) {
+            created += write(batch);
+        }
+        return created;
+    }
+
+    private List<PendingRegistration> poll() {
+        int batchSize = Math.max(1, config.getBatchSize());
+        List<PendingRegistration> batch = new ArrayList<>(Math.min(batchSize, size.get()));
+        PendingRegistration next;
+        while (batch.size() < batchSize && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Writes one batch. Clicks on events that got a capacity while they were
+     * queued are written row by row, each taking a seat only while one is
+     * left; the rest go in one transaction.
+     */
+    private int write(List<PendingRegistration> batch) {
+        try {
+            List<PendingRegistration> limited = new ArrayList<>();
+            List<PendingRegistration> unlimited = new ArrayList<>();
+            for (PendingRegistration registration : batch) {
+                (seatReservations.isLimited(registration.eventId()) ? limited : unlimited).add(registration);
+            }
+            List<Created> created = writeOneByOne(limited);
+            created.addAll(writeTogether(unlimited));
+            registered(created);
+            return created.size();
+        } finally {
+            for (PendingRegistration registration : batch) {
+                queued.remove(new Key(registration.userId(), registration.eventId()));
+            }
+            size.addAndGet(-batch.size());
+        }
+    }
+
+    /**
+     * Writes clicks in one transaction. When a synchronous write got to a pair
+     * between the lookup and the insert, the insert reports fewer rows than
+     * expected without saying which, and when an event this node took for
+     * unlimited has no room the counter update is refused; either way the
+     * transaction is rolled back and the clicks written row by row instead,
+     * so the counters stay exact.
+     */
+    private List<Created> writeTogether(List<PendingRegistration> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<Created> created = transactionTemplate.execute(status -> {
+                List<PendingRegistration> fresh = registrationWriter.withoutExisting(batch);
+                List<Long> ids = registrationWriter.insertAllIfAbsent(fresh);
+                Map<Long, Integer> perEvent = new HashMap<>();
+                fresh.forEach(r -> perEvent.merge(r.eventId(), 1, Integer::sum));
+                if (ids.size() != fresh.size() || !registrationCounter.add(perEvent)) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                List<Created> rows = new ArrayList<>(fresh.size());
+                for (int i = 0; i < fresh.size(); i++) {
+                    rows.add(new Created(fresh.get(i), ids.get(i)));
+                }
+                return rows;
+            });
+            return created != null ? created : writeOneByOne(batch);
+        } catch (DataAccessException e) {
+            logger.warn("Writing {} interest clicks as one batch failed, writing them one by one: {}",
+                    batch.size(), e.getMessage());
+            return writeOneByOne(batch);
+        }
+    }
+
+    private List<Created> writeOneByOne(List<PendingRegistration> batch) {
+        List<Created> created = new ArrayList<>();
+        for (PendingRegistration registration : batch) {
+            try {
+                Long id = transactionTemplate.execute(status -> {
+                    Long registrationId = registrationWriter.insertIfAbsent(registration.userId(),
+                            registration.eventId(), registration.registeredAt()).orElse(null);
+                    if (registrationId == null) {
+                        return null;
+                    }
+                    if (registrationCounter.increment(registration.eventId()) == 0) {
+                        // The event filled up, or got a capacity, while the click was queued
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return registrationId;
+                });
+                if (id != null) {
+                    created.add(new Created(registration, id));
+                }
+            } catch (DataAccessException e) {
+                dropped.increment();
+                logger.warn("Interest click of user {} on event {} could not be written: {}",
+                        registration.userId(), registration.eventId(), e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /** Feeds the in-memory figures; call after the rows have committed. */
+    private void registered(List<Created> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        dashboardStats.registrationsAdded(created.size());
+        for (Created row : created) {
+            PendingRegistration pending = row.registration();
+            analytics.registrationAdded(pending.eventId(), row.id(), pending.registeredAt());
+            membership.registered(pending.eventId(), pending.userId());
+        }
+    }
+
+    /** A scheduled task that throws is never run again, so failures are only logged. */
+    private void flushGuarded() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Interest write-behind flush failed", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tejaswin.campus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Row totals for the dashboard listings, keyed by filter. Listings page with
+ * keyset windows and never count; the "N records" figure comes from here so
+ * each count runs once per filter rather than on every render. Event writes
+ * and status transitions clear it. Entries also expire after
+ * {@code app.pagination.totals-ttl-seconds} as a backstop for writes made by
+ * other instances.
+ */
+@Component
+public class ListingTotalsCache {
+
+    private final Cache<String, Long> cache;
+
+    public ListingTotalsCache(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(512)
+                .expireAfterWrite(Duration.ofSeconds(appConfig.getPagination().getTotalsTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "listingTotals");
+    }
+
+    /**
+     * @return cached total for the key, counting once on a miss; concurrent
+     *         misses for the same key share one count
+     */
+    public long get(String key, Supplier<Long> counter) {
+        return cache.get(key, k -> counter.get());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
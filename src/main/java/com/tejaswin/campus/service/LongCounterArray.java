@@ -0,0 +1,77 @@
+package com.tejaswin.campus.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded-looking array of {@code long} counters indexed by a dense ID, such
+ * as an auto-increment primary key. Storage is split into fixed chunks that
+ * are allocated on first write and never moved, so every operation is a
+ * single atomic instruction on a primitive slot: no lock, no resize, no boxing.
+ *
+ * <p>Indexes outside {@code [0, capacity())} are not tracked: reads return 0
+ * and writes are dropped.
+ */
+final class LongCounterArray {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final AtomicReferenceArray<AtomicLongArray> chunks;
+
+    /**
+     * @param maxChunks number of chunks of 1024 counters; fixes the capacity
+     */
+    LongCounterArray(int maxChunks) {
+        this.chunks = new AtomicReferenceArray<>(maxChunks);
+    }
+
+    long capacity() {
+        return (long) chunks.length() << CHUNK_BITS;
+    }
+
+    long get(long index) {
+        AtomicLongArray chunk = existing(index);
+        return chunk == null ? 0 : chunk.get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * @return the new value, or 0 if the index is not tracked
+     */
+    long add(long index, long delta) {
+        AtomicLongArray chunk = chunk(index);
+        return chunk == null ? 0 : chunk.addAndGet((int) (index & CHUNK_MASK), delta);
+    }
+
+    /**
+     * @return the previous value, or 0 if the index is not tracked
+     */
+    long getAndSet(long index, long value) {
+        AtomicLongArray chunk = value == 0 ? existing(index) : chunk(index);
+        return chunk == null ? 0 : chunk.getAndSet((int) (index & CHUNK_MASK), value);
+    }
+
+    private AtomicLongArray existing(long index) {
+        if (index < 0 || index >= capacity()) {
+            return null;
+        }
+        return chunks.get((int) (index >>> CHUNK_BITS));
+    }
+
+    private AtomicLongArray chunk(long index) {
+        if (index < 0 || index >= capacity()) {
+            return null;
+        }
+        int slot = (int) (index >>> CHUNK_BITS);
+        AtomicLongArray chunk = chunks.get(slot);
+        if (chunk == null) {
+            AtomicLongArray created = new AtomicLongArray(CHUNK_SIZE);
+            chunk = chunks.compareAndExchange(slot, null, created);
+            if (chunk == null) {
+                chunk = created;
+            }
+        }
+        return chunk;
+    }
+}
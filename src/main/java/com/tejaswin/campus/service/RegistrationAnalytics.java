@@ -0,0 +1,285 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Interest figures kept in memory: registrations per event, per category and
+ * per day. Everything is held in primitive atomic arrays, so recording a
+ * registration is a handful of lock-free increments and reading a figure
+ * never touches MySQL or allocates.
+ *
+ * <p>Built at startup by streaming the events and registrations tables once,
+ * then kept current by {@link EventService} after each committed registration,
+ * event save and event delete. Writes made during the build are replayed onto
+ * it afterwards. The per-day histogram covers the last {@value #DAYS} days and
+ * keeps the interest of a deleted event until the next restart.
+ */
+@Component
+public class RegistrationAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationAnalytics.class);
+
+    /** Chunks of 1024 event IDs; 65536 of them track IDs below 2^26. */
+    private static final int EVENT_CHUNKS = 1 << 16;
+    private static final int MAX_CATEGORIES = 256;
+    static final int DAYS = 512;
+
+    /** A histogram slot packs the epoch day into the high bits and its count into the low ones. */
+    private static final int COUNT_BITS = 40;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<String, Integer> categoryIndexes = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> categoryNames = new AtomicReferenceArray<>(MAX_CATEGORIES);
+    private final AtomicInteger categoryCount = new AtomicInteger();
+    private final List<PendingWrite> pending = new ArrayList<>();
+    private volatile Counters counters = new Counters();
+    private volatile boolean loading = true;
+
+    public RegistrationAnalytics(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams the events and registrations tables into fresh counters, swaps
+     * them in and replays the writes recorded meanwhile. Runs once; until it
+     * has, {@link #isLoaded()} is false and callers should ask the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!loading) {
+            return;
+        }
+        Counters built = new Counters();
+        long lastRegistrationId;
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM registrations", Long.class);
+            lastRegistrationId = maxId == null ? 0 : maxId;
+            StreamingQueries.stream(jdbcTemplate, "SELECT id, category FROM events",
+                    rs -> built.eventSaved(rs.getLong(1), categoryIndex(rs.getString(2))));
+            StreamingQueries.stream(jdbcTemplate,
+                    "SELECT event_id, registration_date FROM registrations WHERE id <= ?",
+                    rs -> built.registered(rs.getLong(1), epochDay(rs.getTimestamp(2))), lastRegistrationId);
+        } catch (DataAccessException e) {
+            logger.warn("Registration analytics not loaded, figures fall back to the database: {}", e.getMessage());
+            return;
+        }
+        synchronized (pending) {
+            for (PendingWrite write : pending) {
+                if (write.registrationId() < 0 || write.registrationId() > lastRegistrationId) {
+                    write.action().accept(built);
+                }
+            }
+            pending.clear();
+            counters = built;
+            loading = false;
+        }
+        logger.info("Registration analytics loaded: registrations up to ID {}", lastRegistrationId);
+    }
+
+    public boolean isLoaded() {
+        return !loading;
+    }
+
+    /**
+     * Call after the registration has committed.
+     *
+     * @param registrationId ID of the new row, which tells a startup build
+     *                       whether its scan already counted it
+     */
+    public void registrationAdded(long eventId, long registrationId, LocalDateTime registeredAt) {
+        long day = (registeredAt != null ? registeredAt.toLocalDate() : LocalDate.now()).toEpochDay();
+        apply(c -> c.registered(eventId, day), registrationId);
+    }
+
+    /** Call after the save has committed. */
+    public void eventSaved(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        long eventId = event.getId();
+        int index = categoryIndex(event.getCategory());
+        apply(c -> c.eventSaved(eventId, index), -1);
+    }
+
+    /** Call after the delete has committed. */
+    public void eventRemoved(Long eventId) {
+        apply(c -> c.eventRemoved(eventId), -1);
+    }
+
+    /**
+     * @return registrations of the event, 0 if unknown
+     */
+    public long interest(long eventId) {
+        return counters.interest.get(eventId);
+    }
+
+    /**
+     * @return registrations of the events in the category
+     */
+    public long categoryTotal(String category) {
+        Integer index = category == null ? null : categoryIndexes.get(category);
+        return index == null || index < 0 ? 0 : counters.categoryTotals.get(index);
+    }
+
+    /**
+     * @return category name -> registrations, in the order categories were
+     *         first seen
+     */
+    public Map<String, Long> categoryTotals() {
+        Counters current = counters;
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int i = 0; i < categoryCount.get() && i < MAX_CATEGORIES; i++) {
+            totals.put(categoryNames.get(i), current.categoryTotals.get(i));
+        }
+        return totals;
+    }
+
+    /**
+     * @param lastDay last day to report
+     * @param days    number of days ending with {@code lastDay}, at most {@value #DAYS}
+     * @return registrations per day, oldest first
+     */
+    public long[] daily(LocalDate lastDay, int days) {
+        Counters current = counters;
+        long[] counts = new long[Math.min(Math.max(days, 0), DAYS)];
+        long first = lastDay.toEpochDay() - counts.length + 1;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = current.day(first + i);
+        }
+        return counts;
+    }
+
+    /**
+     * Applies a write to the live counters. While the startup build runs the
+     * write is also queued, to be replayed onto the built counters unless the
+     * build's scan already saw it.
+     *
+     * @param registrationId ID of the registration written, or -1 for event
+     *                       writes, which are idempotent
+     */
+    private void apply(Consumer<Counters> write, long registrationId) {
+        if (loading) {
+            synchronized (pending) {
+                if (loading) {
+                    pending.add(new PendingWrite(write, registrationId));
+                    write.accept(counters);
+                    return;
+                }
+            }
+        }
+        write.accept(counters);
+    }
+
+    /**
+     * @return stable index of the category, or -1 once {@value #MAX_CATEGORIES}
+     *         distinct categories have been seen
+     */
+    private int categoryIndex(String category) {
+        if (category == null) {
+            return -1;
+        }
+        return categoryIndexes.computeIfAbsent(category, name -> {
+            int index = categoryCount.getAndIncrement();
+            if (index >= MAX_CATEGORIES) {
+                return -1;
+            }
+            categoryNames.set(index, name);
+            return index;
+        });
+    }
+
+    private static long epochDay(Timestamp timestamp) {
+        return timestamp == null ? Long.MIN_VALUE : timestamp.toLocalDateTime().toLocalDate().toEpochDay();
+    }
+
+    private record PendingWrite(Consumer<Counters> action, long registrationId) {
+    }
+
+    /** One generation of counters; replaced as a whole by the startup build. */
+    private static final class Counters {
+
+        private final LongCounterArray interest = new LongCounterArray(EVENT_CHUNKS);
+        /** Category index + 1 per event; 0 for unknown. */
+        private final LongCounterArray categories = new LongCounterArray(EVENT_CHUNKS);
+        private final AtomicLongArray categoryTotals = new AtomicLongArray(MAX_CATEGORIES);
+        private final AtomicLongArray days = new AtomicLongArray(DAYS);
+
+        void registered(long eventId, long epochDay) {
+            interest.add(eventId, 1);
+            int category = (int) categories.get(eventId) - 1;
+            if (category >= 0) {
+                categoryTotals.incrementAndGet(category);
+            }
+            if (epochDay != Long.MIN_VALUE) {
+                addDay(epochDay);
+            }
+        }
+
+        /**
+         * Records the event's category; an event that moved category takes
+         * its registrations along.
+         */
+        void eventSaved(long eventId, int category) {
+            long previous = categories.getAndSet(eventId, category + 1) - 1;
+            if (previous == category) {
+                return;
+            }
+            long count = interest.get(eventId);
+            if (previous >= 0) {
+                categoryTotals.addAndGet((int) previous, -count);
+            }
+            if (category >= 0) {
+                categoryTotals.addAndGet(category, count);
+            }
+        }
+
+        void eventRemoved(long eventId) {
+            int category = (int) categories.getAndSet(eventId, 0) - 1;
+            long count = interest.getAndSet(eventId, 0);
+            if (category >= 0) {
+                categoryTotals.addAndGet(category, -count);
+            }
+        }
+
+        long day(long epochDay) {
+            long packed = days.get((int) Math.floorMod(epochDay, DAYS));
+            return packed >>> COUNT_BITS == epochDay ? packed & COUNT_MASK : 0;
+        }
+
+        /** Increments the day's slot, claiming it from the day it last held. */
+        private void addDay(long epochDay) {
+            int slot = (int) Math.floorMod(epochDay, DAYS);
+            long packed;
+            long next;
+            do {
+                packed = days.get(slot);
+                long held = packed >>> COUNT_BITS;
+                if (held > epochDay && packed != 0) {
+                    return; // older than the window
+                }
+                next = held == epochDay ? packed + 1 : (epochDay << COUNT_BITS) | 1;
+            } while (!days.compareAndSet(slot, packed, next));
+        }
+    }
+}
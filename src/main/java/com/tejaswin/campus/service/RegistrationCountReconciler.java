@@ -0,0 +1,96 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.repository.EventRepository;
+import com.tejaswin.campus.repository.RegistrationCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repairs drift in {@code events.registration_count}. {@link EventService}
+ * keeps the counter exact for its own writes, but registrations removed by
+ * the {@code ON DELETE CASCADE} of a deleted user, or written by hand, are not
+ * counted. Every {@code app.registration-counts.reconcile-minutes} the events
+ * are recounted in ID ranges of {@code app.registration-counts.batch-size},
+ * one short transaction per range, so no single statement groups the whole
+ * registrations table. The {@link InterestMembership} bitmap of a repaired
+ * event is dropped too, since it may still hold users whose registrations
+ * were deleted.
+ */
+@Component
+public class RegistrationCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationCountReconciler.class);
+
+    private final EventRepository eventRepository;
+    private final RegistrationCounter registrationCounter;
+    private final DashboardStatsService dashboardStats;
+    private final InterestMembership interestMembership;
+    private final TransactionTemplate transactionTemplate;
+    private final AppConfig.RegistrationCounts config;
+
+    public RegistrationCountReconciler(EventRepository eventRepository, RegistrationCounter registrationCounter,
+            DashboardStatsService dashboardStats, InterestMembership interestMembership,
+            PlatformTransactionManager transactionManager, AppConfig appConfig) {
+        this.eventRepository = eventRepository;
+        this.registrationCounter = registrationCounter;
+        this.dashboardStats = dashboardStats;
+        this.interestMembership = interestMembership;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // The recount has to see registrations committed after the range was first read
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.config = appConfig.getRegistrationCounts();
+    }
+
+    /** Failures other than the database's are logged by the scheduler, which keeps the schedule. */
+    @Scheduled(initialDelayString = "${app.registration-counts.reconcile-minutes:60}",
+            fixedDelayString = "${app.registration-counts.reconcile-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            logger.warn("Registration count reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recounts every event's registrations and rewrites the counters that
+     * disagree.
+     *
+     * @return number of counters repaired
+     */
+    public int reconcile() {
+        long maxId = eventRepository.findMaxId().orElse(0L);
+        int batchSize = Math.max(1, config.getBatchSize());
+        int repaired = 0;
+        for (long after = 0; after < maxId; after += batchSize) {
+            long from = after;
+            long until = Math.min(after + batchSize, maxId);
+            List<Long> drifted;
+            try {
+                drifted = transactionTemplate.execute(status -> registrationCounter.reconcile(from, until));
+            } catch (PessimisticLockingFailureException e) {
+                // Lost a lock to a registration; the range is checked again next time
+                logger.debug("Registration counts ({}, {}] skipped: {}", from, until, e.getMessage());
+                continue;
+            }
+            drifted.forEach(interestMembership::invalidate);
+            repaired += drifted.size();
+        }
+        if (repaired > 0) {
+            dashboardStats.invalidate();
+            logger.warn("Registration counts repaired for {} events", repaired);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,140 @@
+package com.tejaswin.campus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory gate in front of events with a {@code max_capacity}. Each limited
+ * event has an atomic count of the seats this node believes are left, so once
+ * an event is full further clicks are turned away with a compare-and-set
+ * instead of queueing on the event's row lock.
+ *
+ * <p>The database stays authoritative: the counter bump in
+ * {@link com.tejaswin.campus.repository.RegistrationCounter#increment} only
+ * succeeds while {@code registration_count < max_capacity}. This gate only has
+ * to let through no fewer clicks than there are seats; counts are reloaded
+ * from the table every {@code app.seats.refresh-seconds}, so seats taken on
+ * other nodes, or freed by deleted users, are picked up. Events without a
+ * capacity are never gated.
+ */
+@Component
+public class SeatReservations {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatReservations.class);
+
+    /** Remaining seats of an event without a capacity. */
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, AtomicInteger> remaining;
+    private final Counter rejected;
+
+    public SeatReservations(JdbcTemplate jdbcTemplate, AppConfig appConfig, MeterRegistry meterRegistry) {
+        AppConfig.Seats config = appConfig.getSeats();
+        this.jdbcTemplate = jdbcTemplate;
+        this.remaining = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEvents())
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, config.getRefreshSeconds())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, remaining, "seatReservations");
+        this.rejected = Counter.builder("seats.rejected")
+                .description("Registrations turned away because the event was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a seat in memory. A taken seat must be given back with
+     * {@link #release} unless the registration was created.
+     *
+     * @return false if the event is full
+     */
+    public boolean tryAcquire(Long eventId) {
+        AtomicInteger seats = seats(eventId);
+        if (seats == null) {
+            return true;
+        }
+        for (;;) {
+            int left = seats.get();
+            if (left == UNLIMITED) {
+                return true;
+            }
+            if (left <= 0) {
+                rejected.increment();
+                return false;
+            }
+            if (seats.compareAndSet(left, left - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Gives back a seat taken by {@link #tryAcquire} for a click that registered no one. */
+    public void release(Long eventId) {
+        AtomicInteger seats = remaining.getIfPresent(eventId);
+        if (seats != null) {
+            seats.getAndUpdate(left -> left == UNLIMITED ? left : left + 1);
+        }
+    }
+
+    /** Records that the database refused a seat: the event is full whatever this node thought. */
+    public void soldOut(Long eventId) {
+        AtomicInteger seats = remaining.getIfPresent(eventId);
+        if (seats != null) {
+            seats.set(0);
+        }
+        rejected.increment();
+    }
+
+    /**
+     * @return true if the event has a capacity; registrations for it must take
+     *         the synchronous path, which checks it
+     */
+    public boolean isLimited(Long eventId) {
+        AtomicInteger seats = seats(eventId);
+        return seats != null && seats.get() != UNLIMITED;
+    }
+
+    /** Call after an event's capacity was changed or the event deleted. */
+    public void invalidate(Long eventId) {
+        remaining.invalidate(eventId);
+    }
+
+    /** @return the event's seat count, or null if unknown or the table is unavailable */
+    private AtomicInteger seats(Long eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        try {
+            return remaining.get(eventId, this::load);
+        } catch (DataAccessException e) {
+            logger.debug("Seats of event {} unavailable, leaving it to the database: {}", eventId, e.getMessage());
+            return null;
+        }
+    }
+
+    private AtomicInteger load(Long eventId) {
+        List<AtomicInteger> rows = jdbcTemplate.query(
+                "SELECT max_capacity, registration_count FROM events WHERE id = ?", (rs, rowNum) -> {
+                    int capacity = rs.getInt(1);
+                    if (rs.wasNull()) {
+                        return new AtomicInteger(UNLIMITED);
+                    }
+                    return new AtomicInteger(Math.max(0, capacity - rs.getInt(2)));
+                }, eventId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.tejaswin.campus.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Queries read row by row instead of buffering the whole result, for the
+ * startup builds that scan the registrations table.
+ */
+final class StreamingQueries {
+
+    private StreamingQueries() {
+    }
+
+    static void stream(JdbcTemplate jdbcTemplate, String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            // Connector/J only streams when asked for this fetch size
+            boolean mysql = connection.getMetaData().getDatabaseProductName().contains("MySQL");
+            statement.setFetchSize(mysql ? Integer.MIN_VALUE : 1000);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, handler);
+    }
+}
@@ -0,0 +1,73 @@
+package com.tejaswin.campus.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel of due instants. Scheduling and advancing cost O(1) per
+ * entry regardless of how many are pending; an instant further away than one
+ * revolution simply waits in its slot for the later pass.
+ *
+ * <p>Not thread-safe; {@link EventStatusScheduler} only touches it from its
+ * own thread.
+ */
+final class TimingWheel {
+
+    private final long tickMillis;
+    private final List<Long>[] slots;
+    private long currentTick;
+    private int pending;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int size, long nowMillis) {
+        if (tickMillis <= 0 || size <= 0) {
+            throw new IllegalArgumentException("tick and size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new List[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayList<>(0);
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Adds an instant, rounded up to the next tick.
+     *
+     * @return false if the instant is already due, so nothing was scheduled
+     */
+    boolean schedule(long dueMillis) {
+        long dueTick = Math.ceilDiv(dueMillis, tickMillis);
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        slots[(int) (dueTick % slots.length)].add(dueTick);
+        pending++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis}, visiting each slot passed at most
+     * once even after a long pause.
+     *
+     * @return number of instants that fell due
+     */
+    int advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        long steps = Math.min(targetTick - currentTick, slots.length);
+        int fired = 0;
+        for (long step = 1; step <= steps; step++) {
+            List<Long> slot = slots[(int) ((currentTick + step) % slots.length)];
+            int before = slot.size();
+            slot.removeIf(dueTick -> dueTick <= targetTick);
+            fired += before - slot.size();
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        pending -= fired;
+        return fired;
+    }
+
+    int pending() {
+        return pending;
+    }
+}
@@ -0,0 +1,385 @@
+package com.tejaswin.campus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tejaswin.campus.config.AppConfig;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.TimeMeter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Waiting room in front of the registration of events that have it switched
+ * on. Instead of every click going straight to the database when
+ * registration opens, each arrival takes the next position in the event's
+ * line and gets a signed ticket naming it. Positions are admitted in order at
+ * {@code app.waiting-room.admit-per-second}, with bursts of up to
+ * {@code burst}; the ticket holder polls {@link #status} until admitted and
+ * then presents the ticket to the registration path.
+ *
+ * <p>A user joining again while their position is still waiting gets it
+ * back on a fresh ticket, so clearing cookies or opening more tabs does not
+ * take more places in the line. A line is two counters, a ring of
+ * {@code max-waiting} ints holding when each waiting position last polled, a
+ * ring of longs naming its holder and a map from each waiting user to their
+ * position: with the default 16384 the rings take 192 KiB, and a full map
+ * about 1 MiB more. A position that stopped polling for
+ * {@code abandon-after-seconds} is passed over without using up an admission.
+ * Tickets are signed with {@code app.waiting-room.secret}; when it is blank a
+ * random key is used, and tickets do not survive a restart. Lines are local
+ * to the node, as are the admission rates.
+ */
+@Component
+public class WaitingRoom {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingRoom.class);
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 16;
+    private static final int MAX_TICKET_LENGTH = 160;
+
+    /** Ring slot of a position no one holds yet, or that has left the line. */
+    private static final int VACANT = Integer.MIN_VALUE;
+
+    /** Where a ticket stands. */
+    public enum Admission {
+        ADMITTED, WAITING, INVALID
+    }
+
+    /**
+     * @param ticket   signed token naming the position
+     * @param admitted whether the position was admitted on arrival
+     */
+    public record Ticket(String ticket, boolean admitted) {
+    }
+
+    /**
+     * @param admission       where the ticket stands
+     * @param ahead           positions still waiting in front of it
+     * @param pollAfterMillis when to ask again
+     */
+    public record Status(Admission admission, long ahead, long pollAfterMillis) {
+    }
+
+    private record Claim(long eventId, long userId, long line, long position, long issuedAt) {
+    }
+
+    private final AppConfig.WaitingRoom config;
+    private final Clock clock;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Cache<Long, Line> lines;
+    private final Counter joined;
+    private final Counter turnedAway;
+
+    @Autowired
+    public WaitingRoom(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this(appConfig, meterRegistry, Clock.systemUTC());
+    }
+
+    WaitingRoom(AppConfig appConfig, MeterRegistry meterRegistry, Clock clock) {
+        this.config = appConfig.getWaitingRoom();
+        this.clock = clock;
+        this.key = new SecretKeySpec(secret(config.getSecret()), MAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(MAC_ALGORITHM + " unavailable", e);
+            }
+        });
+        this.lines = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEvents())
+                .expireAfterAccess(Duration.ofSeconds(Math.max(1, config.getTicketTtlSeconds())))
+                .build();
+        this.joined = Counter.builder("waiting.room.joined")
+                .description("Arrivals given a place in a waiting room")
+                .register(meterRegistry);
+        this.turnedAway = Counter.builder("waiting.room.full")
+                .description("Arrivals turned away because the waiting room was full")
+                .register(meterRegistry);
+        Gauge.builder("waiting.room.waiting", lines, WaitingRoom::waiting)
+                .description("Positions waiting to be admitted, all events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gives the user the next position in the event's line, or the one they
+     * already wait in, admitting it straight away if the line is empty and
+     * the rate allows.
+     *
+     * @return the ticket, or null if the line is full
+     */
+    public Ticket join(long eventId, long userId) {
+        Line line = lines.get(eventId, id -> new Line());
+        int now = line.seconds();
+        long position = line.join(userId, now);
+        if (position < 0) {
+            turnedAway.increment();
+            return null;
+        }
+        joined.increment();
+        line.advance(now);
+        String ticket = sign(new Claim(eventId, userId, line.id, position, now));
+        return new Ticket(ticket, line.admitted(position));
+    }
+
+    /**
+     * Where the ticket stands; counts as the holder still waiting. Needs no
+     * session or database, so it is cheap enough to poll.
+     */
+    public Status status(long eventId, String ticket) {
+        Claim claim = verify(ticket);
+        if (claim == null || claim.eventId() != eventId) {
+            return new Status(Admission.INVALID, 0, 0);
+        }
+        return status(claim);
+    }
+
+    /**
+     * @return whether the ticket lets this user through to registration now
+     */
+    public Admission admission(long eventId, long userId, String ticket) {
+        Claim claim = verify(ticket);
+        if (claim == null || claim.eventId() != eventId || claim.userId() != userId) {
+            return Admission.INVALID;
+        }
+        return status(claim).admission();
+    }
+
+    private Status status(Claim claim) {
+        Line line = lines.getIfPresent(claim.eventId());
+        if (line == null || line.id != claim.line()) {
+            return new Status(Admission.INVALID, 0, 0);
+        }
+        int now = line.seconds();
+        if (now - claim.issuedAt() > config.getTicketTtlSeconds()) {
+            return new Status(Admission.INVALID, 0, 0);
+        }
+        line.seen(claim.position(), now);
+        line.advance(now);
+        if (line.admitted(claim.position())) {
+            return new Status(Admission.ADMITTED, 0, 0);
+        }
+        return new Status(Admission.WAITING, claim.position() - line.admitted, config.getPollIntervalMillis());
+    }
+
+    private String sign(Claim claim) {
+        String payload = claim.eventId() + ":" + claim.userId() + ":" + claim.line() + ":" + claim.position()
+                + ":" + claim.issuedAt();
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(bytes) + "." + encoder.encodeToString(mac(bytes));
+    }
+
+    /** @return the ticket's claim, or null if it is malformed or not signed by this room */
+    private Claim verify(String ticket) {
+        if (ticket == null || ticket.length() > MAX_TICKET_LENGTH) {
+            return null;
+        }
+        int dot = ticket.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(ticket.substring(0, dot));
+            if (!MessageDigest.isEqual(mac(payload), decoder.decode(ticket.substring(dot + 1)))) {
+                return null;
+            }
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 5) {
+                return null;
+            }
+            return new Claim(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+        return Arrays.copyOf(macs.get().doFinal(payload), MAC_BYTES);
+    }
+
+    private static byte[] secret(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.getBytes(StandardCharsets.UTF_8);
+        }
+        logger.info("No app.waiting-room.secret set; waiting room tickets will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    private static double waiting(Cache<Long, Line> lines) {
+        return lines.asMap().values().stream().mapToLong(Line::waiting).sum();
+    }
+
+    /** One event's line. */
+    private final class Line {
+
+        /** Tells apart lines of the same event, so tickets of an expired one are refused. */
+        final long id = ThreadLocalRandom.current().nextLong();
+        final long started = clock.millis();
+        final AtomicLong issued = new AtomicLong();
+        final AtomicIntegerArray lastSeen;
+        final AtomicLongArray holders;
+        final Map<Long, Long> positions = new ConcurrentHashMap<>();
+        final int mask;
+        final Bucket admissions;
+        final ReentrantLock admitting = new ReentrantLock();
+        volatile long admitted;
+
+        Line() {
+            int size = ringSize(config.getMaxWaiting());
+            this.lastSeen = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) {
+                lastSeen.set(i, VACANT);
+            }
+            this.holders = new AtomicLongArray(size);
+            this.mask = size - 1;
+            Bandwidth rate = Bandwidth.builder()
+                    .capacity(Math.max(1, config.getBurst()))
+                    .refillGreedy(Math.max(1, config.getAdmitPerSecond()), Duration.ofSeconds(1))
+                    .build();
+            this.admissions = Bucket.builder()
+                    .addLimit(rate)
+                    .withCustomTimePrecision(new ClockTimeMeter(clock))
+                    .build();
+        }
+
+        /** @return seconds since the line was started */
+        int seconds() {
+            return (int) TimeUnit.MILLISECONDS.toSeconds(clock.millis() - started);
+        }
+
+        /**
+         * @return the user's waiting position, a new one if they hold none,
+         *         or -1 if every slot of the ring is waiting
+         */
+        long join(long userId, int now) {
+            Long position = positions.compute(userId, (user, held) -> {
+                if (held != null && waiting(held, now)) {
+                    lastSeen.set((int) (long) held & mask, now);
+                    return held;
+                }
+                long taken = take(user, now);
+                return taken < 0 ? null : taken;
+            });
+            return position == null ? -1 : position;
+        }
+
+        private long take(long userId, int now) {
+            for (;;) {
+                long position = issued.get();
+                if (position - admitted > mask) {
+                    return -1;
+                }
+                if (issued.compareAndSet(position, position + 1)) {
+                    holders.set((int) position & mask, userId);
+                    lastSeen.set((int) position & mask, now);
+                    return position;
+                }
+            }
+        }
+
+        /** @return whether the position is still in line and not abandoned */
+        private boolean waiting(long position, int now) {
+            return position >= admitted && position < issued.get()
+                    && !abandoned(lastSeen.get((int) position & mask), now);
+        }
+
+        private boolean abandoned(int seen, int now) {
+            // VACANT: the position was taken but its time not yet written; it is fresh
+            return seen != VACANT && now - seen > config.getAbandonAfterSeconds();
+        }
+
+        void seen(long position, int now) {
+            if (position >= admitted && position < issued.get()) {
+                lastSeen.set((int) position & mask, now);
+            }
+        }
+
+        /**
+         * Admits waiting positions in order while the rate allows, passing
+         * over abandoned ones. Only one caller admits at a time; the others
+         * see its result on their next poll.
+         */
+        void advance(int now) {
+            if (!admitting.tryLock()) {
+                return;
+            }
+            try {
+                long next = admitted;
+                long end = issued.get();
+                while (next < end) {
+                    int slot = (int) next & mask;
+                    if (!abandoned(lastSeen.get(slot), now) && !admissions.tryConsume(1)) {
+                        break;
+                    }
+                    lastSeen.set(slot, VACANT);
+                    positions.remove(holders.get(slot), next);
+                    next++;
+                }
+                admitted = next;
+            } finally {
+                admitting.unlock();
+            }
+        }
+
+        boolean admitted(long position) {
+            return position < admitted;
+        }
+
+        long waiting() {
+            return issued.get() - admitted;
+        }
+    }
+
+    private static int ringSize(int maxWaiting) {
+        int wanted = Math.max(2, maxWaiting);
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    /** Lets the admission buckets run on the room's clock. */
+    private record ClockTimeMeter(Clock clock) implements TimeMeter {
+
+        @Override
+        public long currentTimeNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+        }
+
+        @Override
+        public boolean isWallClockBased() {
+            return true;
+        }
+    }
+}
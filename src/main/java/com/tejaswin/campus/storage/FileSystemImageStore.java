@@ -0,0 +1,200 @@
+package com.tejaswin.campus.storage;
+
+import com.tejaswin.campus.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores images as files under {@code <app.upload-dir>/images/<first two hex
+ * chars>/<sha-256>}, with variants next to them as
+ * {@code <sha-256>-<variant>.jpg}. Uploads are written to a temp file while the digest is
+ * computed, then atomically moved into place; content that is already present
+ * is not written twice, only has its modification time refreshed.
+ *
+ * <p>{@link #store} and {@link #deleteUnused} lock the digest against each
+ * other, so a sweep either sees the refreshed time of content an upload is
+ * reusing, or removes it before the upload looks and the upload writes it
+ * again. The locks are local to the JVM; nodes sharing the directory rely on
+ * the refreshed time alone.
+ */
+@Component
+public class FileSystemImageStore implements ImageStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemImageStore.class);
+
+    private static final Pattern DIGEST_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path imagesDir;
+    private final Path tempDir;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public FileSystemImageStore(AppConfig appConfig) {
+        Path uploadBaseDir = Paths.get(appConfig.getUploadDir()).toAbsolutePath().normalize();
+        this.imagesDir = uploadBaseDir.resolve("images");
+        this.tempDir = uploadBaseDir.resolve("tmp");
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public StoredImage store(InputStream content) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest sha256 = newDigest();
+            long length;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), sha256)) {
+                length = content.transferTo(out);
+            }
+            String digest = HexFormat.of().formatHex(sha256.digest());
+
+            Path target = pathFor(digest);
+            synchronized (lockFor(digest)) {
+                if (Files.exists(target)) {
+                    logger.debug("Image {} already stored, skipping duplicate write", digest);
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    return new StoredImage(digest, length);
+                }
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return new StoredImage(digest, length);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource load(String digest) {
+        if (!isValidDigest(digest)) {
+            return null;
+        }
+        Path path = pathFor(digest);
+        return Files.isRegularFile(path) ? new FileSystemResource(path) : null;
+    }
+
+    @Override
+    public void storeVariant(String digest, ImageVariant variant, InputStream content) throws IOException {
+        if (!isValidDigest(digest)) {
+            throw new IllegalArgumentException("Invalid image digest");
+        }
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "variant-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                content.transferTo(out);
+            }
+            Path target = variantPathFor(digest, variant);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource loadVariant(String digest, ImageVariant variant) {
+        if (!isValidDigest(digest)) {
+            return null;
+        }
+        Path path = variantPathFor(digest, variant);
+        return Files.isRegularFile(path) ? new FileSystemResource(path) : null;
+    }
+
+    @Override
+    public int deleteUnused(Instant storedBefore, Predicate<String> inUse) throws IOException {
+        if (!Files.isDirectory(imagesDir)) {
+            return 0;
+        }
+        List<String> digests;
+        try (Stream<Path> files = Files.walk(imagesDir, 2)) {
+            digests = files.map(file -> file.getFileName().toString()).filter(FileSystemImageStore::isValidDigest)
+                    .toList();
+        }
+        FileTime cutoff = FileTime.from(storedBefore);
+        int removed = 0;
+        for (String digest : digests) {
+            synchronized (lockFor(digest)) {
+                if (storedBefore(pathFor(digest), cutoff) && !inUse.test(digest)) {
+                    delete(digest);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private void delete(String digest) throws IOException {
+        for (ImageVariant variant : ImageVariant.values()) {
+            Files.deleteIfExists(variantPathFor(digest, variant));
+        }
+        Files.deleteIfExists(pathFor(digest));
+    }
+
+    private static boolean storedBefore(Path path, FileTime cutoff) throws IOException {
+        try {
+            return Files.getLastModifiedTime(path).compareTo(cutoff) < 0;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private Object lockFor(String digest) {
+        return locks[Math.floorMod(digest.hashCode(), locks.length)];
+    }
+
+    private Path pathFor(String digest) {
+        return imagesDir.resolve(digest.substring(0, 2)).resolve(digest);
+    }
+
+    private Path variantPathFor(String digest, ImageVariant variant) {
+        return imagesDir.resolve(digest.substring(0, 2)).resolve(digest + "-" + variant.key() + ".jpg");
+    }
+
+    private static boolean isValidDigest(String digest) {
+        // Digests come from the database, but never let one escape the images dir
+        return digest != null && DIGEST_PATTERN.matcher(digest).matches();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is guaranteed by the JVM spec; this should never happen
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.tejaswin.campus.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Hot-image cache in front of the image read path, bounded by total bytes
+ * rather than entry count. A few posters carry most of the traffic on
+ * announcement days, so they are served from memory instead of disk or the
+ * database. With {@code app.image-cache.off-heap=true} the bytes live in direct
+ * buffers (bounded by {@code -XX:MaxDirectMemorySize}) so large posters do not
+ * end up in the old generation.
+ */
+@Component
+public class ImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCache.class);
+
+    private final AppConfig.ImageCache config;
+    private final Cache<String, CachedImage> cache;
+
+    public ImageCache(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this.config = appConfig.getImageCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxBytes())
+                .weigher((String key, CachedImage image) -> image.length())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventImages");
+        Gauge.builder("image.cache.resident.bytes", this, ImageCache::residentBytes)
+                .description("Bytes of image content held by the hot image cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("image.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the hot image cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return cache key for the original ({@code variant == null}) or a variant
+     */
+    public static String key(String digest, ImageVariant variant) {
+        return variant == null ? digest : digest + "-" + variant.key();
+    }
+
+    /**
+     * @return cached content, or null on a miss or when the cache is disabled
+     */
+    public Resource get(String key) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        CachedImage cached = cache.getIfPresent(key);
+        return cached != null ? cached.asResource() : null;
+    }
+
+    /**
+     * Presence check that does not count towards hit/miss statistics.
+     */
+    public boolean contains(String key) {
+        return config.isEnabled() && cache.asMap().containsKey(key);
+    }
+
+    /**
+     * Reads the source into the cache if it fits the per-entry limit.
+     * Concurrent misses for the same key load the source once.
+     *
+     * @return the cached copy, or the source itself if it was not cached
+     */
+    public Resource load(String key, Resource source) throws IOException {
+        if (!config.isEnabled() || source.contentLength() > config.getMaxEntryBytes()) {
+            return source;
+        }
+        try {
+            return cache.get(key, k -> read(source)).asResource();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Drops the original and all variants of a digest.
+     */
+    public void invalidate(String digest) {
+        if (digest == null) {
+            return;
+        }
+        cache.invalidate(key(digest, null));
+        for (ImageVariant variant : ImageVariant.values()) {
+            cache.invalidate(key(digest, variant));
+        }
+    }
+
+    public long residentBytes() {
+        // Weights are applied by Caffeine's asynchronous maintenance; drain it first
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private CachedImage read(Resource source) {
+        try {
+            if (!config.isOffHeap()) {
+                try (InputStream in = source.getInputStream()) {
+                    return new CachedImage(in.readAllBytes(), null);
+                }
+            }
+            // Straight from the file channel into the direct buffer, so the bytes never touch the heap
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.toIntExact(source.contentLength()));
+            try (ReadableByteChannel channel = source.readableChannel()) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+            }
+            buffer.flip();
+            return new CachedImage(null, buffer.asReadOnlyBuffer());
+        } catch (IOException e) {
+            logger.warn("Failed to read image into cache: {}", e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class CachedImage {
+
+        private final byte[] heap;
+        private final ByteBuffer direct;
+
+        private CachedImage(byte[] heap, ByteBuffer direct) {
+            this.heap = heap;
+            this.direct = direct;
+        }
+
+        int length() {
+            return heap != null ? heap.length : direct.limit();
+        }
+
+        Resource asResource() {
+            return heap != null ? new ByteArrayResource(heap) : new ByteBufferResource(direct.duplicate());
+        }
+    }
+
+    /**
+     * Read-only view over a direct buffer; each request gets its own position.
+     */
+    private static final class ByteBufferResource extends AbstractResource {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferResource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached image [" + buffer.remaining() + " bytes]";
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            ByteBuffer view = buffer.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return view.hasRemaining() ? view.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (!view.hasRemaining()) {
+                        return -1;
+                    }
+                    int n = Math.min(len, view.remaining());
+                    view.get(b, off, n);
+                    return n;
+                }
+
+                @Override
+                public int available() {
+                    return view.remaining();
+                }
+            };
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() {
+            return Channels.newChannel(getInputStream());
+        }
+    }
+}
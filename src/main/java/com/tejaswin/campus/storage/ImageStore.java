@@ -0,0 +1,55 @@
+package com.tejaswin.campus.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.function.Predicate;
+
+/**
+ * Content-addressed storage for event images. Images are keyed by the hex
+ * SHA-256 digest of their bytes, so identical uploads are stored once no
+ * matter how many events reference them.
+ */
+public interface ImageStore {
+
+    /**
+     * Streams the content into the store.
+     *
+     * @param content image bytes; not closed by this method
+     * @return digest and length of the stored content
+     */
+    StoredImage store(InputStream content) throws IOException;
+
+    /**
+     * @param digest content digest returned by {@link #store(InputStream)}
+     * @return readable resource, or null if nothing is stored under the digest
+     */
+    Resource load(String digest);
+
+    /**
+     * Stores a generated rendition of the content stored under the digest,
+     * replacing any previous one.
+     */
+    void storeVariant(String digest, ImageVariant variant, InputStream content) throws IOException;
+
+    /**
+     * @return readable resource, or null if the variant has not been generated
+     */
+    Resource loadVariant(String digest, ImageVariant variant);
+
+    /**
+     * Removes content, and its variants, that was last stored before the
+     * cutoff and that the check reports as unused. Storing content again
+     * counts as storing it, so content an upload is about to reference is
+     * kept for as long as the upload's transaction has before the cutoff
+     * catches up. The check runs with the digest locked against
+     * {@link #store(InputStream)}.
+     *
+     * @param storedBefore content stored at or after this instant is kept
+     * @param inUse        whether anything still references the digest
+     * @return number of images removed
+     */
+    int deleteUnused(Instant storedBefore, Predicate<String> inUse) throws IOException;
+}
@@ -0,0 +1,71 @@
+package com.tejaswin.campus.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Image formats accepted for upload, recognised by their magic bytes rather
+ * than the client-supplied content type.
+ */
+public enum ImageType {
+
+    JPEG("image/jpeg", Set.of(".jpg", ".jpeg")),
+    PNG("image/png", Set.of(".png")),
+    GIF("image/gif", Set.of(".gif")),
+    WEBP("image/webp", Set.of(".webp"));
+
+    /** Number of leading bytes needed by {@link #detect(byte[], int)}. */
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final byte[] GIF87A = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89A = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_TAG = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private final String mimeType;
+    private final Set<String> extensions;
+
+    ImageType(String mimeType, Set<String> extensions) {
+        this.mimeType = mimeType;
+        this.extensions = extensions;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @param extension lower-case extension including the dot, e.g. ".jpg"
+     */
+    public boolean matchesExtension(String extension) {
+        return extensions.contains(extension);
+    }
+
+    /**
+     * @param header leading bytes of the file
+     * @param length number of valid bytes in {@code header}
+     * @return detected type or null if the bytes are not a supported image
+     */
+    public static ImageType detect(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (startsWith(header, length, 0, PNG_SIGNATURE)) {
+            return PNG;
+        }
+        if (startsWith(header, length, 0, GIF87A) || startsWith(header, length, 0, GIF89A)) {
+            return GIF;
+        }
+        if (startsWith(header, length, 0, RIFF) && startsWith(header, length, 8, WEBP_TAG)) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int offset, byte[] signature) {
+        return length >= offset + signature.length
+                && Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tejaswin.campus.storage;
+
+import java.util.Locale;
+
+/**
+ * Downscaled renditions generated for every uploaded image. All variants are
+ * encoded as JPEG.
+ */
+public enum ImageVariant {
+
+    /** Dashboard card banner. */
+    CARD(480, 320, false),
+    /** Event detail view and modal. */
+    DETAIL(1200, 1200, false),
+    /** Open Graph / Twitter card, cropped to the 1.91:1 ratio the platforms expect. */
+    OG(1200, 630, true);
+
+    private final int width;
+    private final int height;
+    private final boolean crop;
+
+    ImageVariant(int width, int height, boolean crop) {
+        this.width = width;
+        this.height = height;
+        this.crop = crop;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return true to fill the box exactly (centre crop), false to fit inside it
+     */
+    public boolean isCrop() {
+        return crop;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param value request parameter, may be null
+     * @return matching variant or null for the original image
+     */
+    public static ImageVariant fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (ImageVariant variant : values()) {
+            if (variant.key().equalsIgnoreCase(value.trim())) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
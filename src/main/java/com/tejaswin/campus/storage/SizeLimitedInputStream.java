@@ -0,0 +1,63 @@
+package com.tejaswin.campus.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails the read as soon as more than {@code maxBytes} have been read, so an
+ * oversized upload is cut off mid-stream instead of being written in full.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long n) throws LimitExceededException {
+        count += n;
+        if (count > maxBytes) {
+            throw new LimitExceededException(maxBytes);
+        }
+    }
+
+    public static class LimitExceededException extends IOException {
+        public LimitExceededException(long maxBytes) {
+            super("Content exceeds " + maxBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tejaswin.campus.storage;
+
+/**
+ * Result of writing an image to an {@link ImageStore}.
+ */
+public class StoredImage {
+
+    private final String digest;
+    private final long length;
+
+    public StoredImage(String digest, long length) {
+        this.digest = digest;
+        this.length = length;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public long getLength() {
+        return length;
+    }
+}
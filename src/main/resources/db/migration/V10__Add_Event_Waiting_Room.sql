@@ -0,0 +1,6 @@
+-- V10__Add_Event_Waiting_Room.sql
+-- Per-event switch for the waiting room: when set, clicks on the external
+-- registration link queue in WaitingRoom and are let through at a fixed rate
+-- instead of all reaching the database the moment registration opens.
+
+ALTER TABLE events ADD COLUMN waiting_room BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,21 @@
+-- V3__Move_Images_To_Event_Images.sql
+-- Poster blobs move to their own table so dashboard listings stop reading
+-- up to 5 MB per row. events.has_image is the cheap flag the cards check.
+
+CREATE TABLE IF NOT EXISTS event_images (
+    event_id BIGINT PRIMARY KEY,
+    image_data MEDIUMBLOB NOT NULL,
+    mime_type VARCHAR(255),
+    CONSTRAINT fk_event_image_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE events ADD COLUMN has_image BOOLEAN NOT NULL DEFAULT FALSE;
+
+INSERT INTO event_images (event_id, image_data, mime_type)
+SELECT id, image_data, image_mime_type FROM events WHERE image_data IS NOT NULL;
+
+UPDATE events e JOIN event_images i ON i.event_id = e.id SET e.has_image = TRUE;
+
+-- NOTE: events.image_data / image_mime_type are no longer mapped. They are left
+-- in place rather than cleared here, because nulling every blob in one statement
+-- rewrites the whole table under lock.
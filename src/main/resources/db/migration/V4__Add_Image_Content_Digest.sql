@@ -0,0 +1,8 @@
+-- V4__Add_Image_Content_Digest.sql
+-- New uploads live in the content-addressed file store (app.upload-dir/images)
+-- and event_images only records the SHA-256 digest. Rows copied by V3 keep
+-- their blob until they are moved to the file store.
+
+ALTER TABLE event_images MODIFY COLUMN image_data MEDIUMBLOB NULL;
+ALTER TABLE event_images ADD COLUMN content_digest CHAR(64);
+CREATE INDEX idx_event_images_content_digest ON event_images (content_digest);
@@ -0,0 +1,10 @@
+-- V5__Add_Image_Content_Length.sql
+-- content_digest becomes the strong ETag for every image, so rows still
+-- holding a blob get their digest and length computed once here instead of
+-- on each request.
+
+ALTER TABLE event_images ADD COLUMN content_length BIGINT;
+
+UPDATE event_images
+SET content_digest = SHA2(image_data, 256), content_length = LENGTH(image_data)
+WHERE image_data IS NOT NULL AND content_digest IS NULL;
@@ -0,0 +1,16 @@
+-- V6__Add_Image_Migration_Checkpoint.sql
+-- Progress of the background job that moves legacy image blobs out of the
+-- database into the file store. last_event_id is the keyset position, so a
+-- restarted job continues after the last committed batch.
+
+CREATE TABLE IF NOT EXISTS image_migration_checkpoint (
+    job_name VARCHAR(64) PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    last_event_id BIGINT NOT NULL DEFAULT 0,
+    migrated_rows BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    started_at DATETIME,
+    updated_at DATETIME
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO image_migration_checkpoint (job_name, status) VALUES ('legacy-image-blobs', 'IDLE');
@@ -0,0 +1,9 @@
+-- V7__Add_Event_Listing_Indexes.sql
+-- Listing queries page by keyset on (date_time, id), optionally filtered by
+-- category, so both orderings are served straight from the index without a
+-- filesort. The (end_date_time, date_time) index covers the ongoing/past
+-- counts. All three are built online; writes continue during the migration.
+
+CREATE INDEX idx_events_date_time_id ON events (date_time, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_events_category_date_time_id ON events (category, date_time, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_events_end_date_time_date_time ON events (end_date_time, date_time) ALGORITHM=INPLACE LOCK=NONE;
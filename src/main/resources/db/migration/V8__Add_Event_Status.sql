@@ -0,0 +1,17 @@
+-- V8__Add_Event_Status.sql
+-- Materialized lifecycle status, so the status listings and counts are
+-- equality lookups instead of OR predicates over the nullable end_date_time.
+-- Event times are stored in UTC (hibernate.jdbc.time_zone), so the backfill
+-- compares them with UTC_TIMESTAMP(), not the session-zone NOW(). The startup
+-- sweep of EventStatusScheduler only moves status forward and could not undo
+-- an event marked started too early.
+
+ALTER TABLE events ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'UPCOMING';
+
+UPDATE events SET status = CASE
+    WHEN date_time > UTC_TIMESTAMP() THEN 'UPCOMING'
+    WHEN end_date_time IS NOT NULL AND end_date_time > UTC_TIMESTAMP() THEN 'ONGOING'
+    ELSE 'PAST'
+END;
+
+CREATE INDEX idx_events_status_date_time_id ON events (status, date_time, id) ALGORITHM=INPLACE LOCK=NONE;
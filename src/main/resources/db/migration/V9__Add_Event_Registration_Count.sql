@@ -0,0 +1,12 @@
+-- V9__Add_Event_Registration_Count.sql
+-- Per-event registration counter, so the admin dashboard never groups the
+-- registrations table. EventService increments it in the same transaction as
+-- the registration insert; RegistrationCountReconciler repairs drift, e.g.
+-- from registrations removed by the ON DELETE CASCADE of a deleted user.
+
+ALTER TABLE events ADD COLUMN registration_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE events e
+JOIN (SELECT event_id, COUNT(*) AS registrations FROM registrations GROUP BY event_id) r
+    ON r.event_id = e.id
+SET e.registration_count = r.registrations;
@@ -89,6 +89,7 @@ function openEditModal(btn) {
     document.getElementById('editLink').value = btn.dataset.link || '';
     document.getElementById('editResponsesLink').value = btn.dataset.responses || '';
     document.getElementById('editCapacity').value = btn.dataset.capacity || '';
+    document.getElementById('editWaitingRoom').checked = btn.dataset.waitingroom === 'true';
 
     // Show existing image preview if it exists
     const previewImg = document.getElementById('editPreviewImg');
@@ -44,6 +44,47 @@ if (searchInput) {
     });
 }
 
+// 💡 Autocomplete — suggestions come from /student/api/suggest; Enter runs a server-side search
+const suggestionList = document.getElementById('searchSuggestions');
+if (searchInput && suggestionList) {
+    let suggestTimer;
+    let suggestRequest;
+    searchInput.addEventListener('input', function () {
+        clearTimeout(suggestTimer);
+        const q = this.value.trim();
+        if (!q) {
+            suggestionList.replaceChildren();
+            return;
+        }
+        suggestTimer = setTimeout(async () => {
+            suggestRequest?.abort();
+            suggestRequest = new AbortController();
+            try {
+                const url = new URL(suggestionList.dataset.url, window.location.origin);
+                url.searchParams.set('q', q);
+                const res = await fetch(url, { credentials: 'same-origin', signal: suggestRequest.signal });
+                if (!res.ok) return;
+                const suggestions = await res.json();
+                suggestionList.replaceChildren(...suggestions.map(s => {
+                    const option = document.createElement('option');
+                    option.value = s.text;
+                    return option;
+                }));
+            } catch (e) {
+                // Superseded by a newer keystroke or offline; keep the old suggestions
+            }
+        }, 120);
+    });
+
+    searchInput.addEventListener('keydown', function (e) {
+        if (e.key !== 'Enter' || !this.value.trim()) return;
+        e.preventDefault();
+        const url = new URL(this.dataset.searchUrl, window.location.origin);
+        url.searchParams.set('search', this.value.trim());
+        window.location.assign(url);
+    });
+}
+
 // 🏷️ Category Filter
 function filterCategory(cat, btn) {
     document.querySelectorAll('.sidebar .nav-link').forEach(l => l.classList.remove('active'));
@@ -226,3 +267,53 @@ document.addEventListener('DOMContentLoaded', () => {
         eventsGrid.classList.remove('loading');
     }
 });
+
+// ♾️ Infinite scroll — fetches the next keyset page of cards and appends it
+const loadMoreBtn = document.getElementById('loadMoreBtn');
+if (loadMoreBtn) {
+    const pagination = document.getElementById('dashboardPagination');
+    if (pagination) pagination.classList.add('d-none');
+
+    let loadingMore = false;
+    const loadMore = async () => {
+        const cursor = loadMoreBtn.dataset.cursor;
+        if (loadingMore || !cursor) return;
+        loadingMore = true;
+        loadMoreBtn.disabled = true;
+        try {
+            const url = new URL(loadMoreBtn.dataset.url, window.location.origin);
+            url.searchParams.set('cursor', cursor);
+            const res = await fetch(url, { credentials: 'same-origin' });
+            if (!res.ok) throw new Error(`HTTP ${res.status}`);
+
+            const grid = document.getElementById('eventsGrid');
+            const tpl = document.createElement('template');
+            tpl.innerHTML = await res.text();
+            grid.append(...tpl.content.querySelectorAll('.event-item'));
+
+            const next = res.headers.get('X-Next-Cursor');
+            if (next) {
+                loadMoreBtn.dataset.cursor = next;
+            } else {
+                loadMoreBtn.parentElement.remove();
+                observer?.disconnect();
+            }
+        } catch (e) {
+            // Fall back to the plain Previous/Next links
+            if (pagination) pagination.classList.remove('d-none');
+            loadMoreBtn.parentElement.remove();
+            observer?.disconnect();
+        } finally {
+            loadingMore = false;
+            loadMoreBtn.disabled = false;
+        }
+    };
+
+    loadMoreBtn.addEventListener('click', loadMore);
+    const observer = 'IntersectionObserver' in window
+        ? new IntersectionObserver(entries => {
+            if (entries.some(e => e.isIntersecting)) loadMore();
+        }, { rootMargin: '400px' })
+        : null;
+    observer?.observe(loadMoreBtn);
+}
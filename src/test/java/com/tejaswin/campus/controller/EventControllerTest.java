@@ -1,9 +1,16 @@
 package com.tejaswin.campus.controller;
 
+import com.tejaswin.campus.model.CursorPage;
 import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.model.EventImageMetadata;
+import com.tejaswin.campus.model.EventSnapshot;
 import com.tejaswin.campus.model.User;
+import com.tejaswin.campus.service.EventAutocomplete;
 import com.tejaswin.campus.service.EventService;
 import com.tejaswin.campus.service.SessionService;
+import com.tejaswin.campus.service.WaitingRoom;
+import com.tejaswin.campus.storage.ImageVariant;
 import com.tejaswin.campus.security.SecurityAuditLogger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +18,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +49,12 @@ class EventControllerTest {
     @MockBean
     private SecurityAuditLogger auditLogger;
 
+    @MockBean
+    private EventAutocomplete autocomplete;
+
+    @MockBean
+    private WaitingRoom waitingRoom;
+
     private User studentUser;
 
     @BeforeEach
@@ -53,9 +71,9 @@ class EventControllerTest {
     void showStudentDashboard_ShouldReturnDashboardWithEvents() throws Exception {
         Event event = new Event();
         event.setDateTime(java.time.LocalDateTime.now().plusDays(1));
-        org.springframework.data.domain.Page<Event> page = new org.springframework.data.domain.PageImpl<>(
-                List.of(event));
-        when(eventService.findAllEventsPage(org.mockito.ArgumentMatchers.any())).thenReturn(page);
+        CursorPage<EventCardView> page = new CursorPage<>(List.of(card(event)), null, null);
+        when(eventService.findAllEventsPage(org.mockito.ArgumentMatchers.any(),
+                org.mockito.ArgumentMatchers.anyInt())).thenReturn(page);
 
         mockMvc.perform(get("/student/dashboard"))
                 .andExpect(status().isOk())
@@ -63,14 +81,43 @@ class EventControllerTest {
                 .andExpect(model().attributeExists("events"));
     }
 
+    @Test
+    void suggest_ShouldReturnJsonSuggestionsWithCappedLimit() throws Exception {
+        when(autocomplete.suggest("hac", 20)).thenReturn(List.of(
+                new EventAutocomplete.Suggestion("Spring Hackathon", EventAutocomplete.Kind.TITLE)));
+
+        mockMvc.perform(get("/student/api/suggest").param("q", "hac").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Spring Hackathon"))
+                .andExpect(jsonPath("$[0].kind").value("TITLE"));
+        verify(eventService, never()).searchEventsPage(anyString(), any(), org.mockito.ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void loadMoreEvents_ShouldRenderCardFragmentWithNextCursor() throws Exception {
+        Event event = new Event();
+        event.setId(3L);
+        event.setTitle("Hackathon");
+        event.setDateTime(java.time.LocalDateTime.now().plusDays(1));
+        CursorPage<EventCardView> page = new CursorPage<>(List.of(card(event)), "next-token", "prev-token");
+        when(eventService.findAllEventsPage(org.mockito.ArgumentMatchers.eq("abc"),
+                org.mockito.ArgumentMatchers.anyInt())).thenReturn(page);
+
+        mockMvc.perform(get("/student/dashboard/more").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-token"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Hackathon")))
+                .andExpect(content().string(org.hamcrest.Matchers.not(
+                        org.hamcrest.Matchers.containsString("<html"))));
+    }
+
     @Test
     void searchEvents_ShouldReturnFilteredEvents() throws Exception {
         Event event = new Event();
         event.setDateTime(java.time.LocalDateTime.now().plusDays(1));
-        org.springframework.data.domain.Page<Event> page = new org.springframework.data.domain.PageImpl<>(
-                List.of(event));
+        CursorPage<EventCardView> page = new CursorPage<>(List.of(card(event)), null, null);
         when(eventService.searchEventsPage(org.mockito.ArgumentMatchers.eq("spring"),
-                org.mockito.ArgumentMatchers.any())).thenReturn(page);
+                org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyInt())).thenReturn(page);
 
         mockMvc.perform(get("/student/dashboard").param("search", "spring"))
                 .andExpect(status().isOk())
@@ -82,10 +129,9 @@ class EventControllerTest {
     void filterEvents_ShouldReturnCategorizedEvents() throws Exception {
         Event event = new Event();
         event.setDateTime(java.time.LocalDateTime.now().plusDays(1));
-        org.springframework.data.domain.Page<Event> page = new org.springframework.data.domain.PageImpl<>(
-                List.of(event));
+        CursorPage<EventCardView> page = new CursorPage<>(List.of(card(event)), null, null);
         when(eventService.findEventsByCategoryPage(org.mockito.ArgumentMatchers.eq("tech"),
-                org.mockito.ArgumentMatchers.any())).thenReturn(page);
+                org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.anyInt())).thenReturn(page);
 
         mockMvc.perform(get("/student/dashboard").param("category", "tech"))
                 .andExpect(status().isOk())
@@ -97,7 +143,7 @@ class EventControllerTest {
     void showEventDetails_WithValidId_ShouldReturnEventDetailTemplate() throws Exception {
         Event event = new Event();
         event.setId(1L);
-        when(eventService.findEventById(1L)).thenReturn(event);
+        when(eventService.findEventSnapshot(1L)).thenReturn(EventSnapshot.of(event));
 
         mockMvc.perform(get("/student/event/1"))
                 .andExpect(status().isOk())
@@ -110,10 +156,113 @@ class EventControllerTest {
         Event event = new Event();
         event.setId(1L);
         event.setRegistrationLink("https://external.com");
-        when(eventService.findEventById(1L)).thenReturn(event);
+        when(eventService.recordInterest(1L, 10L)).thenReturn(true);
+        when(eventService.findEventSnapshot(1L)).thenReturn(EventSnapshot.of(event));
 
         mockMvc.perform(get("/student/register-external/1"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("https://external.com"));
     }
+
+    @Test
+    void registerExternal_WhenEventIsFull_ShouldNotFollowTheLink() throws Exception {
+        when(eventService.recordInterest(1L, 10L)).thenReturn(false);
+
+        mockMvc.perform(get("/student/register-external/1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/student/event/1?error=full"));
+    }
+
+    @Test
+    void registerExternal_WithWaitingRoom_ShouldQueueBeforeRegistering() throws Exception {
+        Event event = new Event();
+        event.setId(1L);
+        event.setRegistrationLink("https://external.com");
+        event.setWaitingRoom(true);
+        when(eventService.findEventSnapshot(1L)).thenReturn(EventSnapshot.of(event));
+        when(waitingRoom.admission(1L, 10L, null)).thenReturn(WaitingRoom.Admission.INVALID);
+        when(waitingRoom.join(1L, 10L)).thenReturn(new WaitingRoom.Ticket("abc.def", false));
+
+        mockMvc.perform(get("/student/register-external/1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/student/waiting-room/1?ticket=abc.def"));
+        verify(eventService, never()).recordInterest(any(), any());
+
+        when(waitingRoom.admission(1L, 10L, "abc.def")).thenReturn(WaitingRoom.Admission.ADMITTED);
+        when(eventService.recordInterest(1L, 10L)).thenReturn(true);
+
+        mockMvc.perform(get("/student/register-external/1").param("ticket", "abc.def"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("https://external.com"));
+    }
+
+    @Test
+    void waitingRoom_ShouldRenderThePollingPage() throws Exception {
+        Event event = new Event();
+        event.setId(1L);
+        event.setTitle("Hackathon");
+        when(eventService.findEventSnapshot(1L)).thenReturn(EventSnapshot.of(event));
+
+        mockMvc.perform(get("/student/waiting-room/1").param("ticket", "abc.def"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("waiting_room"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("abc.def")));
+    }
+
+    @Test
+    void waitingRoomStatus_ShouldAnswerFromTheTicketAlone() throws Exception {
+        when(waitingRoom.status(1L, "abc.def"))
+                .thenReturn(new WaitingRoom.Status(WaitingRoom.Admission.WAITING, 42, 2000));
+
+        mockMvc.perform(get("/student/api/waiting-room/1").param("ticket", "abc.def"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.admission").value("WAITING"))
+                .andExpect(jsonPath("$.ahead").value(42));
+
+        verify(sessionService, never()).getLoggedInUser();
+    }
+
+    @Test
+    void getEventImage_WithMatchingEtag_ShouldReturnNotModifiedWithoutLoadingBytes() throws Exception {
+        String digest = "293b9207228b7854bc3ccb2959ebea1583e066d41983124a5b381d6fdf6575f8";
+        when(eventService.findEventImageMetadata(1L))
+                .thenReturn(new EventImageMetadata(1L, digest, 6L, "image/png", true));
+
+        mockMvc.perform(get("/student/api/public/events/image/1").header("If-None-Match", "\"" + digest + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + digest + "\""));
+
+        verify(eventService, never()).loadImageContent(any(), any());
+    }
+
+    @Test
+    void getEventImage_BeforeTheVariantExists_ShouldServeTheOriginalWithoutCachingItForLong() throws Exception {
+        EventImageMetadata image = new EventImageMetadata(1L, "abc123", 6L, "image/png", false);
+        when(eventService.findEventImageMetadata(1L)).thenReturn(image);
+        when(eventService.hasImageVariant(image, ImageVariant.CARD)).thenReturn(false);
+        when(eventService.loadImageContent(image, null)).thenReturn(new ByteArrayResource(new byte[6]));
+
+        mockMvc.perform(get("/student/api/public/events/image/1").param("variant", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().string("ETag", "\"abc123\""));
+    }
+
+    @Test
+    void getEventImage_WithTheVariant_ShouldBeCachedAsImmutable() throws Exception {
+        EventImageMetadata image = new EventImageMetadata(1L, "abc123", 6L, "image/png", false);
+        when(eventService.findEventImageMetadata(1L)).thenReturn(image);
+        when(eventService.hasImageVariant(image, ImageVariant.CARD)).thenReturn(true);
+        when(eventService.loadImageContent(image, ImageVariant.CARD)).thenReturn(new ByteArrayResource(new byte[6]));
+
+        mockMvc.perform(get("/student/api/public/events/image/1").param("variant", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().string("ETag", "\"abc123-card\""));
+    }
+
+    private static EventCardView card(Event event) {
+        return new SpelAwareProxyProjectionFactory().createProjection(EventCardView.class, event);
+    }
 }
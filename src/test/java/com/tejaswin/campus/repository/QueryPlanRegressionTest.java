@@ -0,0 +1,289 @@
+package com.tejaswin.campus.repository;
+
+import com.tejaswin.campus.model.EventStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL generated for every {@link EventRepository}
+ * and {@link RegistrationRepository} query and fails when a plan falls back to
+ * a full table scan (or, for paged listings, to a filesort).
+ *
+ * <p>Needs the local MySQL the other Spring tests use; it is skipped on any
+ * other database. A few thousand fixture rows are seeded so the optimizer
+ * costs plans the way it would in production, and removed afterwards. The
+ * query cache is off so every call reaches the database.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_query_cache=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final String SEED_PREFIX = "explain-seed-";
+    private static final int SEED_EVENTS = 3000;
+    private static final int SEED_USERS = 50;
+    private static final String DIGITS = "(SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3"
+            + " UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8"
+            + " UNION ALL SELECT 9)";
+    private static final String SEQUENCE = "SELECT a.d + 10 * b.d + 100 * c.d + 1000 * t.d AS n FROM "
+            + DIGITS + " a, " + DIGITS + " b, " + DIGITS + " c, " + DIGITS + " t";
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(ObjectProvider<StatementRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private RegistrationCounter registrationCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    private Long seededEventId;
+    private Long seededUserId;
+
+    @BeforeAll
+    void seed() {
+        String product = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        assumeTrue("MySQL".equalsIgnoreCase(product), "query plans are only checked against MySQL");
+
+        removeSeed();
+        // Spread from three years back to a semester ahead, a third of them open-ended.
+        jdbcTemplate.update("INSERT INTO events (title, description, date_time, end_date_time, venue, category,"
+                + " has_image) SELECT CONCAT(?, n), 'Query plan fixture',"
+                + " TIMESTAMPADD(HOUR, n * 12 - 26000, UTC_TIMESTAMP()),"
+                + " CASE WHEN MOD(n, 3) = 0 THEN NULL ELSE TIMESTAMPADD(HOUR, n * 12 - 25997, UTC_TIMESTAMP()) END,"
+                + " CONCAT('Hall ', MOD(n, 20)),"
+                + " ELT(1 + MOD(n, 5), 'Technical', 'Cultural', 'Sports', 'Workshop', 'Seminar'), FALSE"
+                + " FROM (" + SEQUENCE + ") seq WHERE n < ?", SEED_PREFIX, SEED_EVENTS);
+        jdbcTemplate.update("UPDATE events SET status = CASE WHEN date_time > UTC_TIMESTAMP() THEN 'UPCOMING'"
+                + " WHEN end_date_time > UTC_TIMESTAMP() THEN 'ONGOING' ELSE 'PAST' END"
+                + " WHERE title LIKE CONCAT(?, '%')", SEED_PREFIX);
+        jdbcTemplate.update("INSERT INTO users (username, password, role) SELECT CONCAT(?, 'user-', n), '!', 'STUDENT'"
+                + " FROM (" + SEQUENCE + ") seq WHERE n < ?", SEED_PREFIX, SEED_USERS);
+        jdbcTemplate.update("INSERT INTO registrations (user_id, event_id) SELECT u.id, e.id FROM users u"
+                + " JOIN events e ON MOD(e.id + u.id, 40) = 0"
+                + " WHERE u.username LIKE CONCAT(?, '%') AND e.title LIKE CONCAT(?, '%')", SEED_PREFIX, SEED_PREFIX);
+        jdbcTemplate.execute("ANALYZE TABLE events, users, registrations");
+
+        seededEventId = jdbcTemplate.queryForObject("SELECT MIN(event_id) FROM registrations r JOIN users u"
+                + " ON u.id = r.user_id WHERE u.username LIKE CONCAT(?, '%')", Long.class, SEED_PREFIX);
+        seededUserId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM registrations WHERE event_id = ?",
+                Long.class, seededEventId);
+        recorder.drain();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        String product = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(product)) {
+            removeSeed();
+        }
+    }
+
+    @Test
+    void listingWindows_ShouldReadTheIndexInOrder() {
+        assertOrderedByIndex(() -> nextPage(position ->
+                eventRepository.findCardsByOrderByDateTimeDescIdDesc(position, Limit.of(21))));
+        assertOrderedByIndex(() -> nextPage(position ->
+                eventRepository.findCardsByCategoryOrderByDateTimeDescIdDesc("Sports", position, Limit.of(21))));
+        assertOrderedByIndex(() -> nextPage(position -> eventRepository
+                .findCardsByStatusOrderByDateTimeAscIdAsc(EventStatus.UPCOMING, position, Limit.of(21))));
+        assertOrderedByIndex(() -> nextPage(position -> eventRepository
+                .findCardsByStatusOrderByDateTimeDescIdDesc(EventStatus.PAST, position, Limit.of(21))));
+    }
+
+    @Test
+    void eventLists_ShouldUseAnIndex() {
+        assertOrderedByIndex(() -> eventRepository.findByCategoryOrderByDateTimeDesc("Workshop"));
+        assertNoFullScan(() -> eventRepository.findById(seededEventId));
+        assertNoFullScan(() -> eventRepository.findCardsByIdIn(List.of(seededEventId, seededEventId + 1)));
+    }
+
+    @Test
+    void eventCounts_ShouldUseAnIndex() {
+        assertNoFullScan(() -> eventRepository.count());
+        assertNoFullScan(() -> eventRepository.countByCategory("Seminar"));
+        assertNoFullScan(() -> eventRepository.countEventsByCategory());
+        assertNoFullScan(() -> eventRepository.countByStatus(EventStatus.ONGOING));
+        assertNoFullScan(() -> eventRepository.countByStatus(EventStatus.PAST));
+    }
+
+    @Test
+    void statusMaintenance_ShouldUseAnIndex() {
+        LocalDateTime now = now();
+
+        assertNoFullScan(() -> eventRepository.findStartsBetween(now, now.plusHours(1)));
+        assertNoFullScan(() -> eventRepository.findEndsBetween(now, now.plusHours(1)));
+        assertNoFullScan(() -> eventRepository.markStarted(now));
+        assertNoFullScan(() -> eventRepository.markEnded(now));
+    }
+
+    @Test
+    void registrationCounters_ShouldUseAnIndex() {
+        assertNoFullScan(() -> eventRepository.findRegistrationCountById(seededEventId));
+        assertNoFullScan(() -> registrationCounter.increment(seededEventId));
+        assertNoFullScan(() -> registrationCounter.reconcile(seededEventId - 1, seededEventId + 999));
+    }
+
+    /**
+     * Queries that read every row by design: the unpaged export listing, the
+     * search index build and the dashboard figures. They are only held to a
+     * single pass over the table.
+     */
+    @Test
+    void fullReads_ShouldScanOnce() {
+        assertSingleScan(() -> eventRepository.findAllByOrderByDateTimeDesc());
+        assertSingleScan(() -> eventRepository.findAllCardsBy());
+        assertSingleScan(() -> eventRepository.countDashboardStats());
+        assertSingleScan(() -> eventRepository.findRegistrationCounts());
+    }
+
+    @Test
+    void registrationQueries_ShouldUseAnIndex() {
+        assertNoFullScan(() -> registrationRepository.existsByUserIdAndEventId(seededUserId, seededEventId));
+        assertNoFullScan(() -> registrationRepository.countByEventId(seededEventId));
+        assertNoFullScan(() -> registrationRepository.count());
+        assertNoFullScan(() -> registrationRepository.deleteByEventId(seededEventId));
+    }
+
+    @Test
+    void registrationExport_ShouldScanOnce() {
+        assertSingleScan(() -> registrationRepository.findAll());
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    /** Loads the first window and the one after it, so both the plain and the keyset predicate are planned. */
+    private static void nextPage(Function<ScrollPosition, Window<?>> query) {
+        Window<?> first = query.apply(ScrollPosition.keyset());
+        assertFalse(first.isEmpty(), "fixture should fill the first window");
+        query.apply(first.positionAt(first.size() - 1));
+    }
+
+    private void assertOrderedByIndex(Runnable call) {
+        for (Plan plan : explain(call)) {
+            plan.assertNoFullScan();
+            plan.assertNo("Using filesort");
+        }
+    }
+
+    private void assertNoFullScan(Runnable call) {
+        for (Plan plan : explain(call)) {
+            plan.assertNoFullScan();
+        }
+    }
+
+    private void assertSingleScan(Runnable call) {
+        for (Plan plan : explain(call)) {
+            long scans = plan.rows().stream().filter(row -> "ALL".equals(row.get("type"))).count();
+            assertTrue(scans <= 1, () -> "more than one full scan:\n" + plan);
+        }
+    }
+
+    private List<Plan> explain(Runnable call) {
+        recorder.drain();
+        call.run();
+        List<StatementRecorder.Statement> statements = recorder.drain().stream()
+                .filter(statement -> !statement.sql().stripLeading().toLowerCase().startsWith("insert"))
+                .toList();
+        assertFalse(statements.isEmpty(), "call issued no SQL");
+        List<Plan> plans = statements.stream()
+                .map(statement -> new Plan(statement.sql(), jdbcTemplate.query(connection -> {
+                    PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+                    for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                        explain.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                    return explain;
+                }, new ColumnMapRowMapper())))
+                .toList();
+        recorder.drain();
+        return plans;
+    }
+
+    private void removeSeed() {
+        // Registrations go with their events and users (ON DELETE CASCADE).
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE CONCAT(?, '%')", SEED_PREFIX);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE CONCAT(?, '%')", SEED_PREFIX);
+    }
+
+    private record Plan(String sql, List<Map<String, Object>> rows) {
+
+        void assertNoFullScan() {
+            for (Map<String, Object> row : rows) {
+                if ("ALL".equals(row.get("type"))) {
+                    fail("full scan of " + row.get("table") + ":\n" + this);
+                }
+            }
+        }
+
+        void assertNo(String extra) {
+            for (Map<String, Object> row : rows) {
+                Object detail = row.get("Extra");
+                if (detail != null && detail.toString().contains(extra)) {
+                    fail(extra + " on " + row.get("table") + ":\n" + this);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(sql);
+            rows.forEach(row -> text.append("\n  ").append(row));
+            return text.toString();
+        }
+    }
+}
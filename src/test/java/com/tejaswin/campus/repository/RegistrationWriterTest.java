@@ -0,0 +1,128 @@
+package com.tejaswin.campus.repository;
+
+import com.tejaswin.campus.repository.RegistrationWriter.PendingRegistration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the database the other Spring tests use; every test rolls
+ * back its fixture rows.
+ */
+@SpringBootTest
+@Transactional
+class RegistrationWriterTest {
+
+    private static final String PREFIX = "writer-test-";
+
+    @Autowired
+    private RegistrationWriter registrationWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long eventId;
+    private long firstUserId;
+    private long secondUserId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO events (title, description, date_time, venue, category, has_image,"
+                + " waiting_room, status, registration_count) VALUES (?, 'Writer fixture', ?, 'Hall 1',"
+                + " 'Technical', FALSE, FALSE, 'UPCOMING', 0)", PREFIX + "event", LocalDateTime.now().plusDays(1));
+        jdbcTemplate.update("INSERT INTO users (username, password, role) VALUES (?, '!', 'STUDENT'),"
+                + " (?, '!', 'STUDENT')", PREFIX + "first", PREFIX + "second");
+        eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class, PREFIX + "event");
+        firstUserId = userId("first");
+        secondUserId = userId("second");
+    }
+
+    @Test
+    void insertIfAbsent_ShouldReturnTheIdOfTheNewRow() {
+        Optional<Long> id = registrationWriter.insertIfAbsent(firstUserId, eventId, LocalDateTime.now());
+
+        assertTrue(id.isPresent());
+        assertEquals(id.get(), jdbcTemplate.queryForObject(
+                "SELECT id FROM registrations WHERE user_id = ? AND event_id = ?", Long.class, firstUserId, eventId));
+    }
+
+    @Test
+    void insertIfAbsent_ShouldIgnoreADuplicate() {
+        registrationWriter.insertIfAbsent(firstUserId, eventId, LocalDateTime.now());
+
+        assertEquals(Optional.empty(), registrationWriter.insertIfAbsent(firstUserId, eventId, LocalDateTime.now()));
+        assertEquals(1, registrations());
+    }
+
+    @Test
+    void insertIfAbsent_ShouldIgnoreAnUnknownEvent() {
+        long unknownEvent = jdbcTemplate.queryForObject("SELECT MAX(id) + 1000 FROM events", Long.class);
+
+        assertEquals(Optional.empty(), registrationWriter.insertIfAbsent(firstUserId, unknownEvent,
+                LocalDateTime.now()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registrations WHERE event_id = ?",
+                Long.class, unknownEvent));
+    }
+
+    @Test
+    void insertIfAbsent_ShouldIgnoreAnUnknownUser() {
+        long unknownUser = jdbcTemplate.queryForObject("SELECT MAX(id) + 1000 FROM users", Long.class);
+
+        assertEquals(Optional.empty(), registrationWriter.insertIfAbsent(unknownUser, eventId, LocalDateTime.now()));
+        assertEquals(0, registrations());
+    }
+
+    @Test
+    void withoutExisting_ShouldDropPairsAlreadyRegistered() {
+        registrationWriter.insertIfAbsent(firstUserId, eventId, LocalDateTime.now());
+        PendingRegistration registered = pending(firstUserId);
+        PendingRegistration fresh = pending(secondUserId);
+
+        assertEquals(List.of(fresh), registrationWriter.withoutExisting(List.of(registered, fresh)));
+    }
+
+    @Test
+    void insertAllIfAbsent_ShouldReturnTheIdsInRowOrder() {
+        List<Long> ids = registrationWriter.insertAllIfAbsent(List.of(pending(secondUserId), pending(firstUserId)));
+
+        assertEquals(List.of(registrationId(secondUserId), registrationId(firstUserId)), ids);
+    }
+
+    @Test
+    void insertAllIfAbsent_ShouldReturnFewerIdsWhenADuplicateIsIgnored() {
+        registrationWriter.insertIfAbsent(firstUserId, eventId, LocalDateTime.now());
+
+        List<Long> ids = registrationWriter.insertAllIfAbsent(List.of(pending(firstUserId), pending(secondUserId)));
+
+        assertEquals(List.of(registrationId(secondUserId)), ids);
+        assertEquals(2, registrations());
+    }
+
+    private PendingRegistration pending(long userId) {
+        return new PendingRegistration(userId, eventId, LocalDateTime.now());
+    }
+
+    private long userId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, PREFIX + name);
+    }
+
+    private long registrationId(long userId) {
+        return jdbcTemplate.queryForObject("SELECT id FROM registrations WHERE user_id = ? AND event_id = ?",
+                Long.class, userId, eventId);
+    }
+
+    private long registrations() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registrations WHERE event_id = ?", Long.class,
+                eventId);
+    }
+}
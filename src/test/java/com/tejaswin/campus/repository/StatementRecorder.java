@@ -0,0 +1,86 @@
+package com.tejaswin.campus.repository;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps a {@link DataSource} and records every executed prepared statement
+ * together with its bound parameters, so a test can replay the exact SQL
+ * Hibernate generated under {@code EXPLAIN}.
+ */
+final class StatementRecorder {
+
+    record Statement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    private final List<Statement> statements = new CopyOnWriteArrayList<>();
+
+    DataSource wrap(DataSource target) {
+        return proxy(target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    /** Returns the statements recorded since the last call and starts a new recording. */
+    List<Statement> drain() {
+        List<Statement> recorded = new ArrayList<>(statements);
+        statements.clear();
+        return recorded;
+    }
+
+    private Connection wrapConnection(Connection target) {
+        return proxy(target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrapStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapStatement(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(target, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                statements.add(new Statement(sql, new TreeMap<>(parameters)));
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Invocation invocation) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(target);
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return invocation.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), interfaces, handler);
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+}
@@ -1,9 +1,13 @@
 package com.tejaswin.campus.security;
 
 import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.User;
+import com.tejaswin.campus.service.SessionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +15,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -18,11 +25,9 @@ class RateLimitingFilterTest {
 
     private RateLimitingFilter filter;
 
-    @Mock
     private AppConfig appConfig;
 
-    @Mock
-    private AppConfig.RateLimit rateLimit;
+    private SimpleMeterRegistry meterRegistry;
 
     @Mock
     private HttpServletRequest request;
@@ -35,14 +40,28 @@ class RateLimitingFilterTest {
 
     @BeforeEach
     void setUp() throws Exception {
-        filter = new RateLimitingFilter(appConfig);
+        appConfig = new AppConfig();
+        appConfig.getRateLimit().setCapacity(5);
+        appConfig.getRateLimit().setTokens(5);
+        appConfig.getRateLimit().setMinutes(1);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitingFilter(appConfig, meterRegistry);
+    }
+
+    private static AppConfig.RateLimit.Policy policy(String name, String path, AppConfig.RateLimit.Key key,
+            int capacity) {
+        AppConfig.RateLimit.Policy policy = new AppConfig.RateLimit.Policy();
+        policy.setName(name);
+        policy.setPaths(List.of(path));
+        policy.setKey(key);
+        policy.setCapacity(capacity);
+        policy.setRefillTokens(capacity);
+        policy.setRefillSeconds(60);
+        return policy;
     }
 
-    private void setupRateLimitMocks() {
-        when(appConfig.getRateLimit()).thenReturn(rateLimit);
-        when(rateLimit.getCapacity()).thenReturn(5);
-        when(rateLimit.getTokens()).thenReturn(5);
-        when(rateLimit.getMinutes()).thenReturn(1);
+    private void setupRejectionMocks() throws Exception {
+        lenient().when(response.getWriter()).thenReturn(new java.io.PrintWriter(new java.io.StringWriter()));
     }
 
     @Test
@@ -56,10 +75,9 @@ class RateLimitingFilterTest {
 
     @Test
     void doFilterInternal_WithPostRequestToAdminLogin_ShouldRateLimit() throws Exception {
-        setupRateLimitMocks();
+        setupRejectionMocks();
         when(request.getMethod()).thenReturn("POST");
         when(request.getServletPath()).thenReturn("/admin/login");
-        when(response.getWriter()).thenReturn(new java.io.PrintWriter(new java.io.StringWriter()));
         when(request.getRemoteAddr()).thenReturn("1.2.3.4");
 
         // Consume all tokens
@@ -71,20 +89,79 @@ class RateLimitingFilterTest {
         // 6th attempt should fail
         filter.doFilterInternal(request, response, filterChain);
         verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        verify(response).setHeader(eq("Retry-After"), anyString());
         verify(filterChain, times(5)).doFilter(request, response); // Should not increase
+        assertEquals(1, meterRegistry.get("rate.limit.requests").tag("policy", "login")
+                .tag("outcome", "rejected").counter().count());
     }
 
     @Test
     void doFilterInternal_WithTrustedProxy_ShouldUseXffHeader() throws Exception {
-        setupRateLimitMocks();
+        setupRejectionMocks();
         when(request.getMethod()).thenReturn("POST");
         when(request.getServletPath()).thenReturn("/admin/login");
         when(request.getRemoteAddr()).thenReturn("127.0.0.1");
         when(request.getHeader("X-Forwarded-For")).thenReturn("192.168.1.1, 10.0.0.1");
 
+        for (int i = 0; i < 5; i++) {
+            filter.doFilterInternal(request, response, filterChain);
+        }
+        // Another client behind the same proxy has its own bucket
+        when(request.getHeader("X-Forwarded-For")).thenReturn("192.168.1.2, 10.0.0.1");
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(filterChain).doFilter(request, response);
-        // This test ensures the internal getClientIp logic handles XFF correctly
+        verify(filterChain, times(6)).doFilter(request, response);
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    void doFilterInternal_ShouldIgnoreForwardedForEntriesTheClientWrote() throws Exception {
+        setupRejectionMocks();
+        appConfig.getRateLimit().setTrustedProxies(List.of("10.1.0.0/16"));
+        filter = new RateLimitingFilter(appConfig, meterRegistry);
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getServletPath()).thenReturn("/admin/login");
+        when(request.getRemoteAddr()).thenReturn("10.1.2.3");
+
+        // A new spoofed leftmost entry each time; the address the proxy saw stays the same
+        for (int i = 0; i < 6; i++) {
+            when(request.getHeader("X-Forwarded-For")).thenReturn("203.0.113." + i + ", 198.51.100.7");
+            filter.doFilterInternal(request, response, filterChain);
+        }
+
+        verify(filterChain, times(5)).doFilter(request, response);
+        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void doFilterInternal_ShouldApplyEveryMatchingPolicyWithItsOwnKey() throws Exception {
+        setupRejectionMocks();
+        appConfig.getRateLimit().setPolicies(List.of(
+                policy("register", "/student/register-external/*", AppConfig.RateLimit.Key.USER, 2),
+                policy("student", "/student/**", AppConfig.RateLimit.Key.IP, 2)));
+        filter = new RateLimitingFilter(appConfig, meterRegistry);
+        HttpSession session = mock(HttpSession.class);
+        User alice = new User();
+        alice.setId(1L);
+        User bob = new User();
+        bob.setId(2L);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getServletPath()).thenReturn("/student/register-external/7");
+        when(request.getRemoteAddr()).thenReturn("1.2.3.4");
+        when(request.getSession(false)).thenReturn(session);
+        when(session.getAttribute(SessionService.USER_SESSION_KEY)).thenReturn(alice, alice, alice, bob);
+
+        for (int i = 0; i < 4; i++) {
+            filter.doFilterInternal(request, response, filterChain);
+        }
+
+        // Alice: two allowed, the third refused by her own bucket; Bob: refused by the shared address
+        verify(filterChain, times(2)).doFilter(request, response);
+        assertEquals(2, meterRegistry.get("rate.limit.requests").tag("policy", "student")
+                .tag("outcome", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("rate.limit.requests").tag("policy", "register")
+                .tag("outcome", "rejected").counter().count());
+        assertEquals(1, meterRegistry.get("rate.limit.requests").tag("policy", "student")
+                .tag("outcome", "rejected").counter().count());
     }
 }
@@ -0,0 +1,122 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.DashboardStats;
+import com.tejaswin.campus.model.EventStatus;
+import com.tejaswin.campus.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatsServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final MutableClock clock = new MutableClock();
+    private DashboardStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardStatsService(eventRepository, new AppConfig(), clock);
+    }
+
+    @Test
+    void get_ShouldFoldTheAggregateRowsIntoOneSnapshot() {
+        when(eventRepository.countDashboardStats()).thenReturn(rows(
+                new Object[] { "Cultural", EventStatus.PAST, 2L, 4L },
+                new Object[] { "Technical", EventStatus.UPCOMING, 3L, 0L },
+                new Object[] { "Technical", EventStatus.ONGOING, 1L, 3L }));
+
+        DashboardStats stats = service.get();
+
+        assertEquals(6, stats.getTotalEvents());
+        assertEquals(7, stats.getTotalRegistrations());
+        assertEquals(3, stats.getUpcomingEvents());
+        assertEquals(1, stats.getOngoingEvents());
+        assertEquals(2, stats.getPastEvents());
+        assertEquals(List.of("Cultural", "Technical"), new ArrayList<>(stats.getCategoryCounts().keySet()));
+        assertEquals(4L, stats.getCategoryCounts().get("Technical"));
+    }
+
+    @Test
+    void get_ShouldApplyDeltasWithoutQueryingAgain() {
+        when(eventRepository.countDashboardStats()).thenReturn(rows(
+                new Object[] { "Technical", EventStatus.UPCOMING, 1L, 0L },
+                new Object[] { "Workshop", EventStatus.PAST, 1L, 5L }));
+        service.get();
+
+        service.eventAdded("Sports", EventStatus.UPCOMING);
+        service.registrationAdded();
+        service.eventRemoved("Workshop", EventStatus.PAST, 5);
+        DashboardStats stats = service.get();
+
+        assertEquals(2, stats.getTotalEvents());
+        assertEquals(2, stats.getUpcomingEvents());
+        assertEquals(0, stats.getPastEvents());
+        assertEquals(1, stats.getTotalRegistrations());
+        assertEquals(1L, stats.getCategoryCounts().get("Sports"));
+        assertFalse(stats.getCategoryCounts().containsKey("Workshop"));
+        verify(eventRepository, times(1)).countDashboardStats();
+    }
+
+    @Test
+    void get_ShouldRecomputeOnceInvalidatedOrOlderThanTheBound() {
+        when(eventRepository.countDashboardStats()).thenReturn(rows());
+        DashboardStats first = service.get();
+        assertSame(first, service.get());
+
+        service.invalidate();
+        service.get();
+        clock.advance(Duration.ofSeconds(11));
+        service.get();
+
+        verify(eventRepository, times(3)).countDashboardStats();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
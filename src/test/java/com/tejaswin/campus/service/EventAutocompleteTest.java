@@ -0,0 +1,62 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.repository.EventRepository;
+import com.tejaswin.campus.service.EventAutocomplete.Kind;
+import com.tejaswin.campus.service.EventAutocomplete.Suggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class EventAutocompleteTest {
+
+    private EventAutocomplete autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new EventAutocomplete(mock(EventRepository.class));
+        autocomplete.update(event(1L, "Spring Hackathon", "Main Lab", "Technical"));
+        autocomplete.update(event(2L, "Hack Night", "Main Lab", "Technical"));
+        autocomplete.update(event(3L, "Football League", "Sports Ground", "Sports"));
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixOfAnyWord() {
+        assertEquals(List.of(new Suggestion("Hack Night", Kind.TITLE), new Suggestion("Spring Hackathon", Kind.TITLE)),
+                autocomplete.suggest("hack", 5));
+    }
+
+    @Test
+    void suggest_ShouldRankSharedPhrasesFirst() {
+        List<Suggestion> suggestions = autocomplete.suggest("ma", 5);
+
+        assertEquals(new Suggestion("Main Lab", Kind.VENUE), suggestions.get(0));
+    }
+
+    @Test
+    void suggest_ShouldTolerateTypos() {
+        assertEquals(List.of(new Suggestion("Football League", Kind.TITLE)), autocomplete.suggest("fotb", 5));
+        assertEquals(List.of(new Suggestion("Football League", Kind.TITLE)), autocomplete.suggest("leauge", 5));
+    }
+
+    @Test
+    void updateAndRemove_ShouldKeepSharedPhrasesUntilLastEventIsGone() {
+        autocomplete.update(event(1L, "Spring Hackathon", "Library", "Technical"));
+        assertEquals(List.of(new Suggestion("Main Lab", Kind.VENUE)), autocomplete.suggest("main", 5));
+
+        autocomplete.remove(2L);
+
+        assertTrue(autocomplete.suggest("main", 5).isEmpty());
+        assertEquals(List.of(new Suggestion("Library", Kind.VENUE)), autocomplete.suggest("libr", 5));
+    }
+
+    private static Event event(Long id, String title, String venue, String category) {
+        return new Event(id, title, "Desc", LocalDateTime.now(), venue, category);
+    }
+}
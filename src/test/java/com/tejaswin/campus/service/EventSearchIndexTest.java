@@ -0,0 +1,81 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex(mock(EventRepository.class), new AppConfig());
+        index.update(event(1L, "Spring Hackathon", "Main Lab", "Technical", "Build something in 24 hours"));
+        index.update(event(2L, "Cultural Night", "Open Air Theatre", "Cultural", "Music and a hackathon prize"));
+        index.update(event(3L, "Football League", "Sports Ground", "Sports", "Inter-hostel matches"));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), index.search("hackathon"));
+    }
+
+    @Test
+    void search_ShouldMatchInsideWordsAndIgnoreCaseAndAccents() {
+        assertEquals(List.of(3L), index.search("BALL"));
+        assertEquals(List.of(2L), index.search("théatre"));
+    }
+
+    @Test
+    void search_ShouldTolerateATypo() {
+        assertEquals(List.of(3L), index.search("footbal leage"));
+    }
+
+    @Test
+    void search_ShouldRequireShortWordsVerbatim() {
+        assertEquals(List.of(1L), index.search("24"));
+        assertTrue(index.search("zz").isEmpty());
+        assertTrue(index.search("  ").isEmpty());
+    }
+
+    @Test
+    void rank_ShouldCountMatchesBeyondTheResultCap() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getSearch().setMaxResults(1);
+        EventSearchIndex capped = new EventSearchIndex(mock(EventRepository.class), appConfig);
+        capped.update(event(1L, "Spring Hackathon", "Main Lab", "Technical", null));
+        capped.update(event(2L, "Autumn Hackathon", "Main Lab", "Technical", null));
+
+        EventSearchIndex.Ranking ranking = capped.rank("hackathon");
+
+        assertEquals(1, ranking.ids().size());
+        assertEquals(2, ranking.total());
+    }
+
+    @Test
+    void updateAndRemove_ShouldReplaceIndexedText() {
+        index.update(event(3L, "Chess Open", "Library", "Sports", null));
+
+        assertTrue(index.search("football").isEmpty());
+        assertEquals(List.of(3L), index.search("chess"));
+
+        index.remove(3L);
+
+        assertTrue(index.search("chess").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    private static Event event(Long id, String title, String venue, String category, String description) {
+        return new Event(id, title, description, LocalDateTime.now(), venue, category);
+    }
+}
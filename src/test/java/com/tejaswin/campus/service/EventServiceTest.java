@@ -1,20 +1,37 @@
 package com.tejaswin.campus.service;
 
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.CursorPage;
 import com.tejaswin.campus.model.Event;
-import com.tejaswin.campus.model.User;
+import com.tejaswin.campus.model.EventCardView;
+import com.tejaswin.campus.model.EventStatus;
+import com.tejaswin.campus.model.EventImage;
+import com.tejaswin.campus.repository.EventImageRepository;
 import com.tejaswin.campus.repository.EventRepository;
+import com.tejaswin.campus.repository.RegistrationCounter;
 import com.tejaswin.campus.repository.RegistrationRepository;
-import com.tejaswin.campus.repository.UserRepository;
+import com.tejaswin.campus.repository.RegistrationWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import com.tejaswin.campus.security.SecurityAuditLogger;
-
+import com.tejaswin.campus.storage.ImageCache;
+import com.tejaswin.campus.storage.ImageStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,21 +45,75 @@ public class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventImageRepository eventImageRepository;
+
     @Mock
     private RegistrationRepository registrationRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private RegistrationCounter registrationCounter;
+
+    @Mock
+    private RegistrationWriter registrationWriter;
 
     @Mock
     private SecurityAuditLogger auditLogger;
 
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private ImageCache imageCache;
+
+    @Mock
+    private ImageUploadService imageUploadService;
+
+    @Mock
+    private EventSearchIndex searchIndex;
+
+    @Mock
+    private EventAutocomplete autocomplete;
+
+    @Mock
+    private EventStatusScheduler statusScheduler;
+
+    @Mock
+    private DashboardStatsService dashboardStats;
+
+    @Mock
+    private RegistrationAnalytics analytics;
+
+    @Mock
+    private InterestWriteBehind interestWriteBehind;
+
+    @Mock
+    private InterestMembership interestMembership;
+
+    @Mock
+    private SeatReservations seatReservations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private EventService eventService;
 
     @BeforeEach
     void setUp() {
+        AppConfig appConfig = new AppConfig();
         // Manual construction because EventService requires a @Value string parameter
-        eventService = new EventService(eventRepository, registrationRepository, userRepository, auditLogger);
+        eventService = new EventService(eventRepository, eventImageRepository, registrationRepository,
+                registrationCounter, registrationWriter, auditLogger, imageStore, imageVariantService, imageCache,
+                imageUploadService, appConfig,
+                new ListingTotalsCache(appConfig, new SimpleMeterRegistry()), searchIndex, autocomplete,
+                statusScheduler, dashboardStats, analytics,
+                new EventSnapshotCache(appConfig, new SimpleMeterRegistry()), interestWriteBehind,
+                interestMembership, seatReservations, transactionManager);
+        lenient().when(seatReservations.tryAcquire(any())).thenReturn(true);
+        lenient().when(registrationCounter.increment(any())).thenReturn(1);
     }
 
     // ── Existing Tests ──────────────────────────────────────────────────
@@ -60,6 +131,66 @@ public class EventServiceTest {
         verify(eventRepository, times(1)).findAllByOrderByDateTimeDesc();
     }
 
+    @Test
+    void testFindEventsByStatusPageUsesCardProjection() {
+        when(eventRepository.findCardsByStatusOrderByDateTimeDescIdDesc(eq(EventStatus.ONGOING), any(), any()))
+                .thenReturn(Window.from(List.of(), i -> null));
+
+        CursorPage<EventCardView> page = eventService.findEventsByStatusPage("Ongoing", null, 15);
+
+        assertTrue(page.getContent().isEmpty());
+        verify(eventRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindAllEventsPageCapsSizeAndIssuesNextCursor() {
+        EventCardView card = card(5L, LocalDateTime.of(2026, 3, 1, 10, 0));
+        when(eventRepository.findCardsByOrderByDateTimeDescIdDesc(any(), any()))
+                .thenReturn(Window.from(List.of(card), i -> ScrollPosition.forward(keys(card)), true));
+
+        CursorPage<EventCardView> page = eventService.findAllEventsPage(null, 1_000_000);
+
+        verify(eventRepository).findCardsByOrderByDateTimeDescIdDesc(ScrollPosition.keyset(), Limit.of(50));
+        assertTrue(page.hasNext());
+        assertFalse(page.hasPrevious());
+    }
+
+    @Test
+    void testFindAllEventsPageFollowsCursor() {
+        EventCardView first = card(5L, LocalDateTime.of(2026, 3, 1, 10, 0));
+        when(eventRepository.findCardsByOrderByDateTimeDescIdDesc(any(), any()))
+                .thenReturn(Window.from(List.of(first), i -> ScrollPosition.forward(keys(first)), true));
+        String next = eventService.findAllEventsPage(null, 1).getNextCursor();
+
+        eventService.findAllEventsPage(next, 1);
+
+        verify(eventRepository).findCardsByOrderByDateTimeDescIdDesc(ScrollPosition.forward(keys(first)),
+                Limit.of(1));
+    }
+
+    @Test
+    void testFindAllEventsPageIgnoresTamperedCursor() {
+        when(eventRepository.findCardsByOrderByDateTimeDescIdDesc(any(), any()))
+                .thenReturn(Window.from(List.of(), i -> null));
+
+        eventService.findAllEventsPage("not-a-cursor!", 20);
+
+        verify(eventRepository).findCardsByOrderByDateTimeDescIdDesc(ScrollPosition.keyset(), Limit.of(20));
+    }
+
+    @Test
+    void testCountListingIsCachedUntilEventWrite() {
+        when(eventRepository.countByCategory("Technical")).thenReturn(4L, 5L);
+
+        assertEquals(4L, eventService.countListing("Technical", null));
+        assertEquals(4L, eventService.countListing("Technical", null));
+        verify(eventRepository, times(1)).countByCategory("Technical");
+
+        eventService.saveEvent(new Event());
+
+        assertEquals(5L, eventService.countListing("Technical", null));
+    }
+
     @Test
     public void testFindEventById() {
         Event event = new Event(1L, "Test Event", "Description", LocalDateTime.now(), "Venue", "Technical");
@@ -81,6 +212,22 @@ public class EventServiceTest {
         verify(eventRepository, times(1)).save(event);
     }
 
+    @Test
+    void findEventSnapshot_ShouldLoadOnceUntilTheEventIsSaved() {
+        Event event = new Event(1L, "Talk", "D", LocalDateTime.now(), "V", "Seminar");
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertEquals("Talk", eventService.findEventSnapshot(1L).getTitle());
+        eventService.findEventSnapshot(1L);
+        verify(eventRepository, times(1)).findById(1L);
+
+        event.setTitle("Keynote");
+        eventService.saveEvent(event);
+
+        assertEquals("Keynote", eventService.findEventSnapshot(1L).getTitle());
+        verify(eventRepository, times(2)).findById(1L);
+    }
+
     @Test
     public void testDeleteEvent() {
         Long eventId = 1L;
@@ -94,6 +241,48 @@ public class EventServiceTest {
         verify(eventRepository, times(1)).deleteById(eventId);
     }
 
+    @Test
+    void testSaveEventPersistsPendingImage() {
+        Event event = new Event();
+        event.setTitle("Poster Event");
+        event.setPendingImage(new EventImage(null, new byte[] { 1, 2, 3 }, "image/png"));
+        event.setHasImage(true);
+        when(eventRepository.save(event)).thenAnswer(inv -> {
+            event.setId(42L);
+            return event;
+        });
+
+        eventService.saveEvent(event);
+
+        verify(eventImageRepository).save(argThat(image -> image.getEventId() == 42L));
+        assertNull(event.getPendingImage());
+    }
+
+    @Test
+    void testDeleteEventRemovesImage() {
+        Event event = new Event(1L, "E", "D", LocalDateTime.now(), "V", "T");
+        event.setHasImage(true);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        eventService.deleteEvent(1L);
+
+        verify(eventImageRepository).deleteById(1L);
+        verify(eventRepository).deleteById(1L);
+    }
+
+    @Test
+    void testDeleteEventLeavesStoredImageToTheSweep() throws Exception {
+        Event event = new Event(1L, "E", "D", LocalDateTime.now(), "V", "T");
+        event.setHasImage(true);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventImageRepository.findContentDigestByEventId(1L)).thenReturn(Optional.of("abc"));
+
+        eventService.deleteEvent(1L);
+
+        verify(imageCache).invalidate("abc");
+        verify(imageStore, never()).deleteUnused(any(), any());
+    }
+
     // ── New Edge-Case Tests ─────────────────────────────────────────────
 
     @Test
@@ -120,8 +309,8 @@ public class EventServiceTest {
     @Test
     void testSearchEventsWithResults() {
         Event event = new Event(1L, "Hackathon", "Desc", LocalDateTime.now(), "Lab", "Technical");
-        when(eventRepository.findByTitleContainingIgnoreCaseOrVenueContainingIgnoreCase("hack", "hack"))
-                .thenReturn(List.of(event));
+        when(searchIndex.search("hack")).thenReturn(List.of(1L));
+        when(eventRepository.findAllById(List.of(1L))).thenReturn(List.of(event));
 
         List<Event> results = eventService.searchEvents("hack");
 
@@ -129,6 +318,39 @@ public class EventServiceTest {
         assertEquals("Hackathon", results.get(0).getTitle());
     }
 
+    @Test
+    void searchEventsPage_ShouldKeepRankOrderAndPageThroughRanking() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 10, 0);
+        when(searchIndex.rank("fest")).thenReturn(new EventSearchIndex.Ranking(List.of(7L, 3L, 9L), 3));
+        when(eventRepository.findCardsByIdIn(List.of(7L, 3L))).thenReturn(List.of(card(3L, start), card(7L, start)));
+        when(eventRepository.findCardsByIdIn(List.of(9L))).thenReturn(List.of(card(9L, start)));
+
+        CursorPage<EventCardView> first = eventService.searchEventsPage("fest", null, 2);
+        CursorPage<EventCardView> second = eventService.searchEventsPage("fest", first.getNextCursor(), 2);
+
+        assertEquals(List.of(7L, 3L), first.getContent().stream().map(EventCardView::getId).toList());
+        assertEquals(3L, first.getTotal());
+        assertNull(first.getPreviousCursor());
+        assertEquals(List.of(9L), second.getContent().stream().map(EventCardView::getId).toList());
+        assertNull(second.getNextCursor());
+        assertNotNull(second.getPreviousCursor());
+    }
+
+    @Test
+    void saveAndDelete_ShouldKeepSearchIndexesCurrent() {
+        Event event = new Event(5L, "Robotics Expo", "Desc", LocalDateTime.now(), "Hall", "Technical");
+        when(eventRepository.findById(5L)).thenReturn(Optional.of(event));
+
+        eventService.saveEvent(event);
+        eventService.deleteEvent(5L);
+
+        verify(searchIndex).update(event);
+        verify(searchIndex).remove(5L);
+        verify(autocomplete).update(event);
+        verify(autocomplete).remove(5L);
+        verify(statusScheduler).schedule(event);
+    }
+
     @Test
     void testFindEventsByCategoryAll() {
         Event event = new Event(1L, "Event", "Desc", LocalDateTime.now(), "Venue", "Technical");
@@ -156,41 +378,130 @@ public class EventServiceTest {
     void testRegisterStudentSuccess() {
         Long eventId = 1L;
         Long userId = 10L;
-
-        when(registrationRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
-        when(eventRepository.findById(eventId))
-                .thenReturn(Optional.of(new Event(eventId, "E", "D", LocalDateTime.now(), "V", "T")));
-
-        User user = new User();
-        user.setId(userId);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(registrationWriter.insertIfAbsent(eq(userId), eq(eventId), any())).thenReturn(Optional.of(100L));
 
         boolean result = eventService.registerStudent(eventId, userId);
 
         assertTrue(result);
-        verify(registrationRepository, times(1)).save(any());
+        verify(registrationCounter).increment(eventId);
+        verify(eventRepository, never()).findById(any());
+        verify(dashboardStats).registrationAdded();
+        verify(analytics).registrationAdded(eq(eventId), eq(100L), any());
+        verify(interestMembership).registered(eventId, userId);
     }
 
     @Test
     void testRegisterStudentDuplicate() {
-        when(registrationRepository.existsByUserIdAndEventId(10L, 1L)).thenReturn(true);
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.empty());
 
         boolean result = eventService.registerStudent(1L, 10L);
 
         assertFalse(result);
-        verify(registrationRepository, never()).save(any());
+        verify(registrationCounter, never()).increment(any());
+        verify(dashboardStats, never()).registrationAdded();
     }
 
     @Test
-    void testRegisterStudentInvalidEvent() {
-        when(registrationRepository.existsByUserIdAndEventId(10L, 999L)).thenReturn(false);
-        when(eventRepository.findById(999L)).thenReturn(Optional.empty());
-        when(userRepository.findById(10L)).thenReturn(Optional.of(new User()));
+    void registerStudent_ShouldRetryADeadlockedInsert() {
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .thenReturn(Optional.of(100L));
+
+        assertTrue(eventService.registerStudent(1L, 10L));
+        verify(registrationWriter, times(2)).insertIfAbsent(eq(10L), eq(1L), any());
+        verify(registrationCounter, times(1)).increment(1L);
+    }
+
+    @Test
+    void registerStudent_ShouldGiveUpAfterRepeatedDeadlocks() {
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
 
-        boolean result = eventService.registerStudent(999L, 10L);
+        assertThrows(CannotAcquireLockException.class, () -> eventService.registerStudent(1L, 10L));
+        verify(registrationWriter, times(3)).insertIfAbsent(eq(10L), eq(1L), any());
+        verify(registrationCounter, never()).increment(any());
+    }
 
-        assertFalse(result);
-        verify(registrationRepository, never()).save(any());
+    @Test
+    void registerStudent_ShouldTurnAwayAFullEventBeforeATransaction() {
+        when(seatReservations.tryAcquire(1L)).thenReturn(false);
+
+        assertFalse(eventService.registerStudent(1L, 10L));
+        verifyNoInteractions(transactionManager, registrationWriter, registrationCounter);
+        verify(seatReservations, never()).release(any());
+    }
+
+    @Test
+    void recordInterest_ShouldLetARegisteredUserThroughAFullEvent() {
+        when(seatReservations.isLimited(1L)).thenReturn(true);
+        when(seatReservations.tryAcquire(1L)).thenReturn(false);
+        when(registrationRepository.existsByUserIdAndEventId(10L, 1L)).thenReturn(true);
+
+        assertTrue(eventService.recordInterest(1L, 10L));
+        verifyNoInteractions(transactionManager, registrationWriter, registrationCounter);
+    }
+
+    @Test
+    void registerStudent_ShouldRollBackWhenTheDatabaseHasNoSeatLeft() {
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.of(100L));
+        when(registrationCounter.increment(1L)).thenReturn(0);
+
+        assertFalse(eventService.registerStudent(1L, 10L));
+        assertTrue(status.isRollbackOnly());
+        verify(seatReservations).soldOut(1L);
+        verify(seatReservations, never()).release(any());
+        verify(dashboardStats, never()).registrationAdded();
+    }
+
+    @Test
+    void registerStudent_ShouldGiveTheSeatBackForADuplicate() {
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.empty());
+
+        assertFalse(eventService.registerStudent(1L, 10L));
+        verify(seatReservations).release(1L);
+    }
+
+    @Test
+    void recordInterest_ShouldWriteLimitedEventsSynchronously() {
+        when(seatReservations.isLimited(1L)).thenReturn(true);
+        when(seatReservations.tryAcquire(1L)).thenReturn(false);
+
+        assertFalse(eventService.recordInterest(1L, 10L));
+        verifyNoInteractions(interestWriteBehind);
+    }
+
+    @Test
+    void recordInterest_ShouldOnlyWriteSynchronouslyWhenNotQueued() {
+        when(interestWriteBehind.offer(1L, 10L)).thenReturn(true, false);
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.of(100L));
+
+        eventService.recordInterest(1L, 10L);
+        verify(registrationWriter, never()).insertIfAbsent(any(), any(), any());
+
+        eventService.recordInterest(1L, 10L);
+        verify(registrationWriter).insertIfAbsent(eq(10L), eq(1L), any());
+    }
+
+    @Test
+    void recordInterest_ShouldStillRedirectWhenTheDatabaseFails() {
+        when(interestWriteBehind.offer(1L, 10L)).thenReturn(false);
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
+
+        assertTrue(eventService.recordInterest(1L, 10L));
+        verify(registrationWriter, times(3)).insertIfAbsent(eq(10L), eq(1L), any());
+        verify(seatReservations).release(1L);
+    }
+
+    @Test
+    void recordInterest_ShouldSkipUsersKnownToBeRegistered() {
+        when(interestMembership.isRegistered(1L, 10L)).thenReturn(true);
+
+        eventService.recordInterest(1L, 10L);
+
+        verifyNoInteractions(interestWriteBehind, registrationWriter);
     }
 
     @Test
@@ -231,4 +542,27 @@ public class EventServiceTest {
         assertTrue(csvContent.contains("\"Event \"\"quoted\"\"\""));
         assertTrue(csvContent.contains("\"Venue, with comma\""));
     }
+
+    @Test
+    void getAllEventsAsCsv_ShouldTakeCountsFromTheTableNotCachedEvents() {
+        Event event = new Event(1L, "Hackathon", "Desc", LocalDateTime.now(), "Hall", "Technical");
+        when(eventRepository.findAllByOrderByDateTimeDesc()).thenReturn(List.of(event));
+        when(eventRepository.findRegistrationCounts()).thenReturn(List.<Object[]>of(new Object[] { 1L, 7L }));
+
+        String csvContent = new String(eventService.getAllEventsAsCsv());
+
+        assertTrue(csvContent.trim().endsWith(",7"));
+    }
+
+    private static EventCardView card(Long id, LocalDateTime dateTime) {
+        return new SpelAwareProxyProjectionFactory().createProjection(EventCardView.class,
+                new Event(id, "E", "D", dateTime, "V", "T"));
+    }
+
+    private static Map<String, Object> keys(EventCardView card) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("dateTime", card.getDateTime());
+        keys.put("id", card.getId());
+        return keys;
+    }
 }
@@ -0,0 +1,100 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.model.Event;
+import com.tejaswin.campus.storage.ImageStore;
+import com.tejaswin.campus.storage.StoredImage;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageMigrationServiceTest {
+
+    private static final String DIGEST = "293b9207228b7854bc3ccb2959ebea1583e066d41983124a5b381d6fdf6575f8";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache entityCache;
+
+    @Mock
+    private EventSnapshotCache snapshots;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ImageMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(entityManagerFactory.getCache()).thenReturn(entityCache);
+        migrationService = new ImageMigrationService(jdbcTemplate, transactionManager, imageStore,
+                imageVariantService, entityManagerFactory, snapshots, new AppConfig());
+
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(7L)))
+                .thenAnswer(inv -> inv.<ResultSetExtractor<?>>getArgument(1).extractData(resultSet));
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBinaryStream("data")).thenReturn(new ByteArrayInputStream("poster".getBytes()));
+        when(resultSet.getString("mime")).thenReturn("image/png");
+        when(resultSet.getBoolean("has_row")).thenReturn(true);
+        when(imageStore.store(any())).thenReturn(new StoredImage(DIGEST, 6));
+    }
+
+    @Test
+    void migrateBatch_ShouldMoveBlobAndAdvanceCheckpoint() throws Exception {
+        when(jdbcTemplate.update(startsWith("UPDATE event_images"), any(), any(), any())).thenReturn(1);
+
+        long lastId = migrationService.migrateBatch(List.of(7L));
+
+        assertEquals(7L, lastId);
+        verify(jdbcTemplate).update(startsWith("UPDATE event_images SET image_data = NULL"), eq(DIGEST), eq(6L),
+                eq(7L));
+        verify(jdbcTemplate).update(startsWith("UPDATE events SET image_data = NULL"), eq(7L));
+        verify(jdbcTemplate).update(startsWith("UPDATE image_migration_checkpoint SET last_event_id"), eq(7L),
+                eq(1), any(), eq(ImageMigrationService.JOB_NAME));
+        verify(imageVariantService).generateVariantsAsync(DIGEST);
+        verify(entityCache).evict(Event.class, 7L);
+        verify(snapshots).invalidate(7L);
+    }
+
+    @Test
+    void migrateBatch_ShouldLeaveFileToTheSweepWhenRowWasReplacedMeanwhile() throws Exception {
+        when(jdbcTemplate.update(startsWith("UPDATE event_images"), any(), any(), any())).thenReturn(0);
+
+        migrationService.migrateBatch(List.of(7L));
+
+        verify(imageVariantService, never()).generateVariantsAsync(any());
+        verify(imageStore, never()).deleteUnused(any(), any());
+    }
+}
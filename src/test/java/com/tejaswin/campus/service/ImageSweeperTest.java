@@ -0,0 +1,53 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.repository.EventImageRepository;
+import com.tejaswin.campus.storage.ImageStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageSweeperTest {
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private EventImageRepository eventImageRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sweep_ShouldOnlyOfferContentPastTheGraceAndAskTheDatabaseAboutEach() throws Exception {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getImageSweep().setGraceMinutes(30);
+        Instant now = Instant.parse("2026-01-01T12:00:00Z");
+        ImageSweeper sweeper = new ImageSweeper(imageStore, eventImageRepository, appConfig,
+                Clock.fixed(now, ZoneOffset.UTC));
+        when(imageStore.deleteUnused(eq(Instant.parse("2026-01-01T11:30:00Z")), any())).thenReturn(2);
+        when(eventImageRepository.countByContentDigest("used")).thenReturn(1L);
+        when(eventImageRepository.countByContentDigest("orphan")).thenReturn(0L);
+
+        assertEquals(2, sweeper.sweep());
+
+        ArgumentCaptor<Predicate<String>> inUse = ArgumentCaptor.forClass(Predicate.class);
+        verify(imageStore).deleteUnused(any(), inUse.capture());
+        assertTrue(inUse.getValue().test("used"));
+        assertFalse(inUse.getValue().test("orphan"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.exception.ImageUploadRejectedException;
+import com.tejaswin.campus.storage.FileSystemImageStore;
+import com.tejaswin.campus.storage.ImageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUploadServiceTest {
+
+    private static final byte[] PNG_HEADER = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13 };
+
+    @TempDir
+    Path uploadDir;
+
+    private AppConfig appConfig;
+    private FileSystemImageStore imageStore;
+    private ImageUploadService uploadService;
+
+    @BeforeEach
+    void setUp() {
+        appConfig = new AppConfig();
+        appConfig.setUploadDir(uploadDir.toString());
+        imageStore = new FileSystemImageStore(appConfig);
+        uploadService = new ImageUploadService(imageStore, appConfig);
+    }
+
+    @Test
+    void store_ShouldUseSniffedTypeAndStoreContent() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("imageFile", "poster.png", "text/html", PNG_HEADER);
+
+        ImageUploadService.UploadedImage uploaded = uploadService.store(file, ".png");
+
+        assertEquals(ImageType.PNG, uploaded.getType());
+        assertEquals(PNG_HEADER.length, uploaded.getLength());
+        assertNotNull(imageStore.load(uploaded.getDigest()));
+    }
+
+    @Test
+    void store_ShouldRejectContentNotMatchingExtension() {
+        MockMultipartFile file = new MockMultipartFile("imageFile", "poster.jpg", "image/jpeg", PNG_HEADER);
+
+        ImageUploadRejectedException e = assertThrows(ImageUploadRejectedException.class,
+                () -> uploadService.store(file, ".jpg"));
+        assertEquals("REJECTED_CONTENT_MISMATCH", e.getReason());
+    }
+
+    @Test
+    void store_ShouldRejectNonImageContent() {
+        MockMultipartFile file = new MockMultipartFile("imageFile", "poster.gif", "image/gif",
+                "<script>alert(1)</script>".getBytes());
+
+        assertThrows(ImageUploadRejectedException.class, () -> uploadService.store(file, ".gif"));
+    }
+
+    @Test
+    void store_ShouldRejectOversizedUpload() {
+        appConfig.getImageUpload().setMaxBytes(8);
+        uploadService = new ImageUploadService(imageStore, appConfig);
+        MockMultipartFile file = new MockMultipartFile("imageFile", "poster.png", "image/png", PNG_HEADER);
+
+        ImageUploadRejectedException e = assertThrows(ImageUploadRejectedException.class,
+                () -> uploadService.store(file, ".png"));
+        assertEquals("REJECTED_TOO_LARGE", e.getReason());
+    }
+
+    @Test
+    void detect_ShouldRecognizeWebp() {
+        byte[] header = { 'R', 'I', 'F', 'F', 1, 2, 3, 4, 'W', 'E', 'B', 'P' };
+
+        assertEquals(ImageType.WEBP, ImageType.detect(header, header.length));
+    }
+}
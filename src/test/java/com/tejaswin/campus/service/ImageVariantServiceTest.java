@@ -0,0 +1,119 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.storage.FileSystemImageStore;
+import com.tejaswin.campus.storage.ImageVariant;
+import com.tejaswin.campus.storage.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileSystemImageStore imageStore;
+    private ImageVariantService variantService;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setUploadDir(uploadDir.toString());
+        imageStore = new FileSystemImageStore(appConfig);
+        variantService = new ImageVariantService(imageStore, appConfig);
+    }
+
+    @Test
+    void render_ShouldFitInsideBoxWithoutCropping() {
+        BufferedImage source = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage card = ImageVariantService.render(source, ImageVariant.CARD);
+
+        assertEquals(480, card.getWidth());
+        assertEquals(240, card.getHeight());
+    }
+
+    @Test
+    void render_ShouldCropOpenGraphToExactBox() {
+        BufferedImage source = new BufferedImage(1600, 1600, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage og = ImageVariantService.render(source, ImageVariant.OG);
+
+        assertEquals(1200, og.getWidth());
+        assertEquals(630, og.getHeight());
+    }
+
+    @Test
+    void render_ShouldNotUpscaleSmallImages() {
+        BufferedImage source = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage detail = ImageVariantService.render(source, ImageVariant.DETAIL);
+
+        assertEquals(200, detail.getWidth());
+        assertEquals(100, detail.getHeight());
+    }
+
+    @Test
+    void subsampling_ShouldKeepTwiceTheLargestVariant() {
+        // DETAIL and OG both need a quarter of 4800x3200; half of that is still read
+        assertEquals(2, ImageVariantService.subsampling(4800, 3200));
+        assertEquals(5, ImageVariantService.subsampling(12000, 8000));
+        assertEquals(1, ImageVariantService.subsampling(1500, 900));
+        // OG crops a panorama by height, so it needs more of the width than DETAIL does
+        assertEquals(1, ImageVariantService.subsampling(6000, 1000));
+    }
+
+    @Test
+    void generateVariants_ShouldRenderFullSizeVariantsFromASubsampledDecode() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4800, 3200, BufferedImage.TYPE_INT_RGB), "png", png);
+        StoredImage stored = imageStore.store(new ByteArrayInputStream(png.toByteArray()));
+
+        variantService.generateVariants(stored.getDigest());
+
+        try (InputStream in = imageStore.loadVariant(stored.getDigest(), ImageVariant.OG).getInputStream()) {
+            BufferedImage og = ImageIO.read(in);
+            assertEquals(1200, og.getWidth());
+            assertEquals(630, og.getHeight());
+        }
+    }
+
+    @Test
+    void generateVariants_ShouldStoreAllVariantsAsJpeg() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1500, 900, BufferedImage.TYPE_INT_ARGB), "png", png);
+        StoredImage stored = imageStore.store(new ByteArrayInputStream(png.toByteArray()));
+
+        variantService.generateVariants(stored.getDigest());
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            Resource resource = imageStore.loadVariant(stored.getDigest(), variant);
+            assertNotNull(resource, variant.key());
+            try (InputStream in = resource.getInputStream()) {
+                BufferedImage decoded = ImageIO.read(in);
+                assertTrue(decoded.getWidth() <= variant.getWidth());
+                assertTrue(decoded.getHeight() <= variant.getHeight());
+            }
+        }
+    }
+
+    @Test
+    void generateVariants_ShouldSkipUndecodableContent() throws Exception {
+        StoredImage stored = imageStore.store(new ByteArrayInputStream("not an image".getBytes()));
+
+        variantService.generateVariants(stored.getDigest());
+
+        assertNull(imageStore.loadVariant(stored.getDigest(), ImageVariant.CARD));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterestMembershipTest {
+
+    private static final String LOAD = "SELECT user_id FROM registrations WHERE event_id = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private InterestMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        membership = new InterestMembership(jdbcTemplate, new AppConfig(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isRegistered_ShouldLoadAnEventOnceAndFollowLaterRegistrations() throws Exception {
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong(1)).thenReturn(10L);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rows);
+            return null;
+        }).when(jdbcTemplate).query(eq(LOAD), any(RowCallbackHandler.class), eq(5L));
+
+        assertTrue(membership.isRegistered(5L, 10L));
+        assertFalse(membership.isRegistered(5L, 11L));
+
+        membership.registered(5L, 11L);
+        assertTrue(membership.isRegistered(5L, 11L));
+        verify(jdbcTemplate, times(1)).query(eq(LOAD), any(RowCallbackHandler.class), eq(5L));
+
+        membership.eventRemoved(5L);
+        assertFalse(membership.isRegistered(5L, 11L));
+        verify(jdbcTemplate, times(2)).query(eq(LOAD), any(RowCallbackHandler.class), eq(5L));
+    }
+
+    @Test
+    void registered_ShouldNotCreateAnIncompleteBitmap() {
+        membership.registered(5L, 11L);
+
+        assertFalse(membership.isRegistered(5L, 10L));
+        verify(jdbcTemplate).query(eq(LOAD), any(RowCallbackHandler.class), eq(5L));
+    }
+
+    @Test
+    void isRegistered_ShouldNotTrackIdsBeyondThirtyTwoBits() {
+        assertFalse(membership.isRegistered(5L, 1L << 32));
+        assertFalse(membership.isRegistered(5L, -1L));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void warm_ShouldFallBackToLoadingOnDemandWhenTheScanFails() {
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("down");
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        membership.warm();
+
+        assertFalse(membership.isRegistered(5L, 10L));
+        verify(jdbcTemplate).query(eq(LOAD), any(RowCallbackHandler.class), eq(5L));
+    }
+}
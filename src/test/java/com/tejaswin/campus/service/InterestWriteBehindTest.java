@@ -0,0 +1,191 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.repository.RegistrationCounter;
+import com.tejaswin.campus.repository.RegistrationWriter;
+import com.tejaswin.campus.repository.RegistrationWriter.PendingRegistration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterestWriteBehindTest {
+
+    @Mock
+    private RegistrationWriter registrationWriter;
+
+    @Mock
+    private RegistrationCounter registrationCounter;
+
+    @Mock
+    private DashboardStatsService dashboardStats;
+
+    @Mock
+    private RegistrationAnalytics analytics;
+
+    @Mock
+    private InterestMembership membership;
+
+    @Mock
+    private SeatReservations seatReservations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AppConfig appConfig;
+
+    @BeforeEach
+    void setUp() {
+        appConfig = new AppConfig();
+        appConfig.getInterestWrites().setWriteBehind(true);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+    }
+
+    private InterestWriteBehind writeBehind() {
+        return new InterestWriteBehind(registrationWriter, registrationCounter, dashboardStats, analytics,
+                membership, seatReservations, transactionManager, appConfig, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void offer_ShouldBeDeclinedWhenWriteBehindIsOff() {
+        appConfig.getInterestWrites().setWriteBehind(false);
+
+        assertFalse(writeBehind().offer(1L, 10L));
+    }
+
+    @Test
+    void flush_ShouldWriteEachQueuedPairOnceInOneInsert() {
+        InterestWriteBehind writeBehind = writeBehind();
+        when(registrationWriter.withoutExisting(anyList())).thenAnswer(i -> i.getArgument(0));
+        when(registrationWriter.insertAllIfAbsent(anyList())).thenReturn(List.of(100L, 101L));
+        when(registrationCounter.add(any())).thenReturn(true);
+
+        assertTrue(writeBehind.offer(1L, 10L));
+        assertTrue(writeBehind.offer(1L, 10L));
+        assertTrue(writeBehind.offer(2L, 10L));
+        assertEquals(2, writeBehind.queued());
+
+        assertEquals(2, writeBehind.flush());
+
+        verify(registrationCounter).add(Map.of(1L, 1, 2L, 1));
+        verify(dashboardStats).registrationsAdded(2);
+        verify(membership).registered(1L, 10L);
+        verify(membership).registered(2L, 10L);
+        verify(analytics).registrationAdded(eq(1L), eq(100L), any());
+        verify(analytics).registrationAdded(eq(2L), eq(101L), any());
+        assertEquals(0, writeBehind.queued());
+    }
+
+    @Test
+    void flush_ShouldFallBackToSingleRowsWhenTheBatchLostARace() {
+        InterestWriteBehind writeBehind = writeBehind();
+        when(registrationWriter.withoutExisting(anyList())).thenAnswer(i -> i.getArgument(0));
+        when(registrationWriter.insertAllIfAbsent(anyList())).thenReturn(List.of(100L));
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.of(100L));
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(2L), any())).thenReturn(Optional.empty());
+        when(registrationCounter.increment(1L)).thenReturn(1);
+        writeBehind.offer(1L, 10L);
+        writeBehind.offer(2L, 10L);
+
+        assertEquals(1, writeBehind.flush());
+
+        verify(registrationCounter, never()).add(any());
+        verify(registrationCounter).increment(1L);
+        verify(registrationCounter, never()).increment(2L);
+        verify(dashboardStats).registrationsAdded(1);
+        verify(analytics).registrationAdded(eq(1L), eq(100L), any());
+        verify(analytics, never()).registrationAdded(eq(2L), anyLong(), any());
+    }
+
+    @Test
+    void flush_ShouldTakeSeatsOneByOneForEventsThatGotACapacityWhileQueued() {
+        InterestWriteBehind writeBehind = writeBehind();
+        when(seatReservations.isLimited(1L)).thenReturn(true);
+        when(registrationWriter.withoutExisting(anyList())).thenAnswer(i -> i.getArgument(0));
+        when(registrationWriter.insertAllIfAbsent(anyList())).thenReturn(List.of(101L));
+        when(registrationCounter.add(any())).thenReturn(true);
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.of(100L));
+        when(registrationCounter.increment(1L)).thenReturn(0);
+        writeBehind.offer(1L, 10L);
+        writeBehind.offer(2L, 10L);
+
+        assertEquals(1, writeBehind.flush());
+
+        verify(registrationCounter).add(Map.of(2L, 1));
+        verify(registrationCounter).increment(1L);
+        verify(analytics).registrationAdded(eq(2L), eq(101L), any());
+        verify(analytics, never()).registrationAdded(eq(1L), anyLong(), any());
+        verify(membership, never()).registered(1L, 10L);
+    }
+
+    @Test
+    void flush_ShouldFallBackToSingleRowsWhenAnEventHasNoRoomLeft() {
+        InterestWriteBehind writeBehind = writeBehind();
+        when(registrationWriter.withoutExisting(anyList())).thenAnswer(i -> i.getArgument(0));
+        when(registrationWriter.insertAllIfAbsent(anyList())).thenReturn(List.of(100L));
+        when(registrationCounter.add(any())).thenReturn(false);
+        when(registrationWriter.insertIfAbsent(eq(10L), eq(1L), any())).thenReturn(Optional.of(100L));
+        when(registrationCounter.increment(1L)).thenReturn(0);
+        writeBehind.offer(1L, 10L);
+
+        assertEquals(0, writeBehind.flush());
+
+        verify(registrationCounter).increment(1L);
+        verify(dashboardStats, never()).registrationsAdded(anyInt());
+        verify(analytics, never()).registrationAdded(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void offer_ShouldFollowTheDurabilitySettingWhenFull() {
+        appConfig.getInterestWrites().setQueueCapacity(1);
+        InterestWriteBehind writeThrough = writeBehind();
+        assertTrue(writeThrough.offer(1L, 10L));
+        assertFalse(writeThrough.offer(2L, 10L));
+
+        appConfig.getInterestWrites().setDurability(AppConfig.InterestWrites.Durability.DROP);
+        InterestWriteBehind dropping = writeBehind();
+        assertTrue(dropping.offer(1L, 10L));
+        assertTrue(dropping.offer(2L, 10L));
+        assertEquals(1, dropping.queued());
+        verify(registrationWriter, never()).insertAllIfAbsent(anyList());
+    }
+
+    @Test
+    void shutdown_ShouldDrainTheQueue() {
+        InterestWriteBehind writeBehind = writeBehind();
+        when(registrationWriter.withoutExisting(anyList())).thenAnswer(i -> i.getArgument(0));
+        when(registrationWriter.insertAllIfAbsent(anyList())).thenReturn(List.of(100L));
+        when(registrationCounter.add(any())).thenReturn(true);
+        writeBehind.offer(1L, 10L);
+
+        writeBehind.shutdown();
+
+        assertEquals(0, writeBehind.queued());
+        assertFalse(writeBehind.offer(2L, 10L));
+        verify(registrationWriter).insertAllIfAbsent(argThat((List<PendingRegistration> rows) -> rows.size() == 1
+                && rows.get(0).userId() == 10L && rows.get(0).eventId() == 1L));
+    }
+}
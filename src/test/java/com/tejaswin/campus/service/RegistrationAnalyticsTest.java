@@ -0,0 +1,107 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationAnalyticsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RegistrationAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new RegistrationAnalytics(jdbcTemplate);
+    }
+
+    @Test
+    void writes_ShouldUpdateEventCategoryAndDayFigures() {
+        analytics.eventSaved(event(5L, "Technical"));
+        analytics.registrationAdded(5L, 1L, TODAY.minusDays(1).atTime(12, 0));
+        analytics.registrationAdded(5L, 2L, TODAY.atTime(12, 0));
+        analytics.registrationAdded(5L, 3L, TODAY.atTime(12, 0));
+
+        assertEquals(3, analytics.interest(5L));
+        assertEquals(3, analytics.categoryTotal("Technical"));
+        assertArrayEquals(new long[] { 0, 1, 2 }, analytics.daily(TODAY, 3));
+
+        analytics.eventSaved(event(5L, "Cultural"));
+        assertEquals(0, analytics.categoryTotal("Technical"));
+        assertEquals(Map.of("Technical", 0L, "Cultural", 3L), analytics.categoryTotals());
+
+        analytics.eventRemoved(5L);
+        assertEquals(0, analytics.interest(5L));
+        assertEquals(0, analytics.categoryTotal("Cultural"));
+    }
+
+    @Test
+    void daily_ShouldForgetDaysOnceTheirSlotIsReused() {
+        analytics.registrationAdded(5L, 1L, TODAY.minusDays(RegistrationAnalytics.DAYS).atTime(12, 0));
+        analytics.registrationAdded(5L, 2L, TODAY.atTime(12, 0));
+        analytics.registrationAdded(5L, 3L, TODAY.minusDays(RegistrationAnalytics.DAYS).atTime(12, 0));
+
+        assertArrayEquals(new long[] { 1 }, analytics.daily(TODAY, 1));
+        assertEquals(0, analytics.daily(TODAY.minusDays(RegistrationAnalytics.DAYS), 1)[0]);
+    }
+
+    @Test
+    void load_ShouldReplayOnlyTheWritesItsScanMissed() throws Exception {
+        when(jdbcTemplate.queryForObject("SELECT MAX(id) FROM registrations", Long.class)).thenReturn(10L);
+        ResultSet events = mock(ResultSet.class);
+        when(events.getLong(1)).thenReturn(5L);
+        when(events.getString(2)).thenReturn("Technical");
+        ResultSet registrations = mock(ResultSet.class);
+        when(registrations.getLong(1)).thenReturn(5L);
+        when(registrations.getTimestamp(2)).thenReturn(Timestamp.valueOf(TODAY.atStartOfDay()));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(events);
+            return null;
+        }).doAnswer(invocation -> {
+            // Committed while the build runs: #9 is within the scan, #11 is not
+            analytics.registrationAdded(5L, 9L, TODAY.atTime(12, 0));
+            analytics.registrationAdded(5L, 11L, TODAY.atTime(12, 0));
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(registrations);
+            handler.processRow(registrations);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        assertFalse(analytics.isLoaded());
+        analytics.load();
+
+        assertTrue(analytics.isLoaded());
+        assertEquals(3, analytics.interest(5L));
+        assertEquals(3, analytics.categoryTotal("Technical"));
+    }
+
+    private static Event event(Long id, String category) {
+        return new Event(id, "Title", "Description", LocalDateTime.now(), "Venue", category);
+    }
+}
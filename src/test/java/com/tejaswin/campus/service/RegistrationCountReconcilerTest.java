@@ -0,0 +1,99 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.repository.EventRepository;
+import com.tejaswin.campus.repository.RegistrationCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationCountReconcilerTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private RegistrationCounter registrationCounter;
+
+    @Mock
+    private DashboardStatsService dashboardStats;
+
+    @Mock
+    private InterestMembership interestMembership;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RegistrationCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getRegistrationCounts().setBatchSize(1000);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        reconciler = new RegistrationCountReconciler(eventRepository, registrationCounter, dashboardStats,
+                interestMembership, transactionManager, appConfig);
+    }
+
+    @Test
+    void reconcile_ShouldCoverEveryIdInBatches() {
+        when(eventRepository.findMaxId()).thenReturn(Optional.of(2500L));
+        when(registrationCounter.reconcile(anyLong(), anyLong())).thenReturn(List.of());
+        when(registrationCounter.reconcile(1000, 2000)).thenReturn(List.of(1200L, 1700L));
+
+        assertEquals(2, reconciler.reconcile());
+
+        verify(registrationCounter).reconcile(0, 1000);
+        verify(registrationCounter).reconcile(1000, 2000);
+        verify(registrationCounter).reconcile(2000, 2500);
+        verify(dashboardStats).invalidate();
+        verify(interestMembership).invalidate(1200L);
+        verify(interestMembership).invalidate(1700L);
+        verify(transactionManager, times(3)).getTransaction(argThat((TransactionDefinition definition) ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_READ_COMMITTED));
+    }
+
+    @Test
+    void reconcile_ShouldMoveOnWhenARangeLosesALock() {
+        when(eventRepository.findMaxId()).thenReturn(Optional.of(2000L));
+        when(registrationCounter.reconcile(0, 1000))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
+        when(registrationCounter.reconcile(1000, 2000)).thenReturn(List.of(1200L));
+
+        assertEquals(1, reconciler.reconcile());
+
+        verify(interestMembership).invalidate(1200L);
+        verify(dashboardStats).invalidate();
+    }
+
+    @Test
+    void reconcile_ShouldLeaveTheDashboardAloneWhenNothingDrifted() {
+        when(eventRepository.findMaxId()).thenReturn(Optional.empty());
+
+        assertEquals(0, reconciler.reconcile());
+
+        verify(registrationCounter, never()).reconcile(anyLong(), anyLong());
+        verifyNoInteractions(dashboardStats, interestMembership);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatReservationsTest {
+
+    private static final String LOAD = "SELECT max_capacity, registration_count FROM events WHERE id = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SeatReservations seats;
+
+    @BeforeEach
+    void setUp() {
+        seats = new SeatReservations(jdbcTemplate, new AppConfig(), new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void seatsLeft(long eventId, int left) {
+        when(jdbcTemplate.query(eq(LOAD), any(RowMapper.class), eq(eventId)))
+                .thenAnswer(invocation -> List.of(new AtomicInteger(left)));
+    }
+
+    @Test
+    void tryAcquire_ShouldHandOutEachSeatOnce() {
+        seatsLeft(1L, 2);
+
+        assertTrue(seats.tryAcquire(1L));
+        assertTrue(seats.tryAcquire(1L));
+        assertFalse(seats.tryAcquire(1L));
+
+        seats.release(1L);
+        assertTrue(seats.tryAcquire(1L));
+        assertFalse(seats.tryAcquire(1L));
+        verify(jdbcTemplate, times(1)).query(eq(LOAD), any(RowMapper.class), eq(1L));
+    }
+
+    @Test
+    void soldOut_ShouldCloseTheEventUntilItIsReloaded() {
+        seatsLeft(1L, 5);
+        assertTrue(seats.tryAcquire(1L));
+
+        seats.soldOut(1L);
+        assertFalse(seats.tryAcquire(1L));
+
+        seats.invalidate(1L);
+        assertTrue(seats.tryAcquire(1L));
+        verify(jdbcTemplate, times(2)).query(eq(LOAD), any(RowMapper.class), eq(1L));
+    }
+
+    @Test
+    void tryAcquire_ShouldNotGateEventsWithoutCapacity() {
+        seatsLeft(1L, Integer.MAX_VALUE);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(seats.tryAcquire(1L));
+        }
+        assertFalse(seats.isLimited(1L));
+    }
+
+    @Test
+    void tryAcquire_ShouldLeaveItToTheDatabaseWhenSeatsCannotBeLoaded() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertTrue(seats.tryAcquire(1L));
+        assertFalse(seats.isLimited(1L));
+    }
+}
@@ -0,0 +1,51 @@
+package com.tejaswin.campus.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_ShouldFireEntriesOnlyOnceTheirTickPasses() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 10_000);
+        assertTrue(wheel.schedule(12_500));
+        assertTrue(wheel.schedule(13_000));
+
+        assertEquals(0, wheel.advance(12_999));
+        assertEquals(2, wheel.advance(13_000));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void advance_ShouldKeepEntriesBeyondOneRevolutionForALaterPass() {
+        TimingWheel wheel = new TimingWheel(1000, 4, 0);
+        assertTrue(wheel.schedule(6_000)); // same slot as tick 2, one revolution later
+
+        assertEquals(0, wheel.advance(2_000));
+        assertEquals(1, wheel.pending());
+        assertEquals(1, wheel.advance(6_000));
+    }
+
+    @Test
+    void advance_ShouldCatchUpAfterLongPause() {
+        TimingWheel wheel = new TimingWheel(1000, 4, 0);
+        wheel.schedule(1_000);
+        wheel.schedule(3_000);
+        wheel.schedule(9_000);
+
+        assertEquals(3, wheel.advance(60_000));
+    }
+
+    @Test
+    void schedule_ShouldRejectInstantsAlreadyDue() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 5_000);
+
+        assertFalse(wheel.schedule(4_000));
+        assertFalse(wheel.schedule(5_000));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(0, 8, 0));
+    }
+}
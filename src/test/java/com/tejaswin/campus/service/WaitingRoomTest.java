@@ -0,0 +1,146 @@
+package com.tejaswin.campus.service;
+
+import com.tejaswin.campus.config.AppConfig;
+import com.tejaswin.campus.service.WaitingRoom.Admission;
+import com.tejaswin.campus.service.WaitingRoom.Status;
+import com.tejaswin.campus.service.WaitingRoom.Ticket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitingRoomTest {
+
+    private final MutableClock clock = new MutableClock();
+    private AppConfig appConfig;
+
+    @BeforeEach
+    void setUp() {
+        appConfig = new AppConfig();
+        appConfig.getWaitingRoom().setAdmitPerSecond(1);
+        appConfig.getWaitingRoom().setBurst(1);
+        appConfig.getWaitingRoom().setSecret("test-secret");
+    }
+
+    private WaitingRoom room() {
+        return new WaitingRoom(appConfig, new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    void join_ShouldAdmitAtTheConfiguredRateInArrivalOrder() {
+        appConfig.getWaitingRoom().setBurst(2);
+        WaitingRoom room = room();
+
+        assertTrue(room.join(1L, 10L).admitted());
+        assertTrue(room.join(1L, 11L).admitted());
+        Ticket third = room.join(1L, 12L);
+        Ticket fourth = room.join(1L, 13L);
+        assertFalse(third.admitted());
+
+        Status waiting = room.status(1L, fourth.ticket());
+        assertEquals(Admission.WAITING, waiting.admission());
+        assertEquals(1, waiting.ahead());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(Admission.WAITING, room.status(1L, fourth.ticket()).admission());
+        assertEquals(Admission.ADMITTED, room.admission(1L, 12L, third.ticket()));
+    }
+
+    @Test
+    void admission_ShouldRefuseTicketsThatAreForgedOrNotTheirs() {
+        WaitingRoom room = room();
+        String ticket = room.join(1L, 10L).ticket();
+
+        assertEquals(Admission.ADMITTED, room.admission(1L, 10L, ticket));
+        assertEquals(Admission.INVALID, room.admission(1L, 11L, ticket));
+        assertEquals(Admission.INVALID, room.admission(2L, 10L, ticket));
+        int mac = ticket.indexOf('.') + 1;
+        String forged = ticket.substring(0, mac) + (ticket.charAt(mac) == 'A' ? 'B' : 'A') + ticket.substring(mac + 1);
+        assertEquals(Admission.INVALID, room.admission(1L, 10L, forged));
+        assertEquals(Admission.INVALID, room.admission(1L, 10L, null));
+
+        String foreign = new WaitingRoom(appConfig, new SimpleMeterRegistry(), clock).join(1L, 10L).ticket();
+        assertEquals(Admission.INVALID, room.admission(1L, 10L, foreign));
+    }
+
+    @Test
+    void status_ShouldPassOverPositionsThatStoppedPollingWithoutUsingAnAdmission() {
+        WaitingRoom room = room();
+        room.join(1L, 10L);
+        Ticket gone = room.join(1L, 11L);
+        Ticket polling = room.join(1L, 12L);
+        assertFalse(gone.admitted());
+
+        // One admission has refilled by now; the position in front has not polled since joining
+        clock.advance(Duration.ofSeconds(31));
+
+        assertEquals(Admission.ADMITTED, room.status(1L, polling.ticket()).admission());
+    }
+
+    @Test
+    void join_ShouldGiveAUserWhoIsStillWaitingTheSamePosition() {
+        appConfig.getWaitingRoom().setMaxWaiting(2);
+        WaitingRoom room = room();
+        room.join(1L, 10L);
+        Ticket first = room.join(1L, 11L);
+
+        Ticket again = room.join(1L, 11L);
+        assertEquals(Admission.WAITING, room.status(1L, first.ticket()).admission());
+        assertEquals(0, room.status(1L, again.ticket()).ahead());
+        Ticket next = room.join(1L, 12L);
+        assertEquals(1, room.status(1L, next.ticket()).ahead());
+        assertNull(room.join(1L, 13L));
+
+        // Admitted, the position is released and a later join queues afresh
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(Admission.ADMITTED, room.status(1L, again.ticket()).admission());
+        assertFalse(room.join(1L, 11L).admitted());
+    }
+
+    @Test
+    void join_ShouldTurnArrivalsAwayWhenTheLineIsFull() {
+        appConfig.getWaitingRoom().setMaxWaiting(2);
+        WaitingRoom room = room();
+
+        assertTrue(room.join(1L, 10L).admitted());
+        assertNotNull(room.join(1L, 11L));
+        assertNotNull(room.join(1L, 12L));
+        assertNull(room.join(1L, 13L));
+        assertNotNull(room.join(2L, 13L));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
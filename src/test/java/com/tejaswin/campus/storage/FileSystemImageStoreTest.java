@@ -0,0 +1,97 @@
+package com.tejaswin.campus.storage;
+
+import com.tejaswin.campus.config.AppConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemImageStoreTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileSystemImageStore store;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setUploadDir(uploadDir.toString());
+        store = new FileSystemImageStore(appConfig);
+    }
+
+    @Test
+    void store_ShouldAddressContentBySha256() throws Exception {
+        byte[] content = "poster".getBytes(StandardCharsets.UTF_8);
+
+        StoredImage stored = store.store(new ByteArrayInputStream(content));
+
+        assertEquals("293b9207228b7854bc3ccb2959ebea1583e066d41983124a5b381d6fdf6575f8", stored.getDigest());
+        assertEquals(content.length, stored.getLength());
+        Resource resource = store.load(stored.getDigest());
+        assertNotNull(resource);
+        assertArrayEquals(content, resource.getContentAsByteArray());
+    }
+
+    @Test
+    void store_ShouldWriteIdenticalContentOnce() throws Exception {
+        byte[] content = "same poster".getBytes(StandardCharsets.UTF_8);
+
+        StoredImage first = store.store(new ByteArrayInputStream(content));
+        StoredImage second = store.store(new ByteArrayInputStream(content));
+
+        assertEquals(first.getDigest(), second.getDigest());
+        try (Stream<Path> files = Files.walk(uploadDir.resolve("images"))) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        try (Stream<Path> temps = Files.list(uploadDir.resolve("tmp"))) {
+            assertEquals(0, temps.count());
+        }
+    }
+
+    @Test
+    void load_ShouldRejectMalformedDigest() {
+        assertNull(store.load("../../etc/passwd"));
+        assertNull(store.load(null));
+    }
+
+    @Test
+    void deleteUnused_ShouldRemoveOldUnreferencedContentAndVariants() throws Exception {
+        StoredImage stored = store.store(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+        store.storeVariant(stored.getDigest(), ImageVariant.CARD, new ByteArrayInputStream(new byte[] { 4 }));
+        StoredImage shared = store.store(new ByteArrayInputStream(new byte[] { 5, 6 }));
+        Instant later = Instant.now().plusSeconds(60);
+
+        assertEquals(1, store.deleteUnused(later, digest -> digest.equals(shared.getDigest())));
+
+        assertNull(store.load(stored.getDigest()));
+        assertNull(store.loadVariant(stored.getDigest(), ImageVariant.CARD));
+        assertNotNull(store.load(shared.getDigest()));
+    }
+
+    @Test
+    void deleteUnused_ShouldKeepContentStoredAgainSinceTheCutoff() throws Exception {
+        byte[] content = "reused poster".getBytes(StandardCharsets.UTF_8);
+        StoredImage stored = store.store(new ByteArrayInputStream(content));
+        Path file = uploadDir.resolve("images").resolve(stored.getDigest().substring(0, 2)).resolve(stored.getDigest());
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+
+        // Another event uploads the same poster; its row is not committed yet
+        store.store(new ByteArrayInputStream(content));
+
+        assertEquals(0, store.deleteUnused(cutoff, digest -> false));
+        assertNotNull(store.load(stored.getDigest()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.tejaswin.campus.storage;
+
+import com.tejaswin.campus.config.AppConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class ImageCacheTest {
+
+    private ImageCache newCache(boolean offHeap, int maxEntryBytes) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getImageCache().setOffHeap(offHeap);
+        appConfig.getImageCache().setMaxEntryBytes(maxEntryBytes);
+        return new ImageCache(appConfig, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void load_ShouldServeSubsequentReadsFromMemory() throws Exception {
+        ImageCache cache = newCache(false, 1024);
+        byte[] content = { 1, 2, 3, 4 };
+
+        cache.load("abc", new ByteArrayResource(content));
+        Resource cached = cache.get("abc");
+
+        assertNotNull(cached);
+        assertArrayEquals(content, cached.getContentAsByteArray());
+        assertEquals(4, cache.residentBytes());
+    }
+
+    @Test
+    void load_OffHeap_ShouldReturnIndependentReaders() throws Exception {
+        ImageCache cache = newCache(true, 1024);
+        byte[] content = { 9, 8, 7 };
+
+        cache.load("abc", new ByteArrayResource(content));
+
+        assertArrayEquals(content, cache.get("abc").getContentAsByteArray());
+        assertArrayEquals(content, cache.get("abc").getContentAsByteArray());
+    }
+
+    @Test
+    void load_OffHeap_ShouldReadTheFileChannelWithoutAHeapCopy(@TempDir Path dir) throws Exception {
+        ImageCache cache = newCache(true, 1024);
+        byte[] content = { 5, 6, 7, 8, 9 };
+        Path file = Files.write(dir.resolve("poster"), content);
+        Resource source = spy(new FileSystemResource(file));
+
+        cache.load("abc", source);
+
+        verify(source, never()).getInputStream();
+        assertArrayEquals(content, cache.get("abc").getContentAsByteArray());
+        assertEquals(5, cache.residentBytes());
+    }
+
+    @Test
+    void load_ShouldSkipEntriesAboveLimit() throws Exception {
+        ImageCache cache = newCache(false, 2);
+        Resource source = new ByteArrayResource(new byte[] { 1, 2, 3 });
+
+        assertSame(source, cache.load("abc", source));
+        assertNull(cache.get("abc"));
+    }
+
+    @Test
+    void invalidate_ShouldDropOriginalAndVariants() throws Exception {
+        ImageCache cache = newCache(false, 1024);
+        cache.load(ImageCache.key("abc", null), new ByteArrayResource(new byte[] { 1 }));
+        cache.load(ImageCache.key("abc", ImageVariant.CARD), new ByteArrayResource(new byte[] { 2 }));
+
+        cache.invalidate("abc");
+
+        assertFalse(cache.contains(ImageCache.key("abc", null)));
+        assertFalse(cache.contains(ImageCache.key("abc", ImageVariant.CARD)));
+    }
+}